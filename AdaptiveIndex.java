@@ -0,0 +1,153 @@
+package project5;
+import java.util.*;
+
+/**
+ * This class represents an Index that changes its internal structure as it grows.
+ * Small vocabularies are kept in a SortedLinkedList, which has little overhead. Once the
+ * number of distinct words exceeds a threshold, all words are moved into a BSTIndex and
+ * every later operation is delegated to the tree. The tree is balanced when it is built
+ * from the list, but BSTIndex does not rebalance itself, so later inserts in sorted order
+ * make it deeper again. The migration reuses the existing Word objects, so counts are
+ * preserved and callers such as FrequentWords do not notice the change.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class AdaptiveIndex implements Index {
+
+    /**
+     * The internal structures that an AdaptiveIndex can use.
+     */
+    public enum Representation {
+        SORTED_LIST, BST
+    }
+
+    // Default number of distinct words above which the list is replaced by a tree
+    public static final int DEFAULT_LIST_LIMIT = 256;
+
+    private final int listLimit;         // largest size kept in the list representation
+    private Index active;                // structure currently storing the words
+    private Representation representation;
+
+    /**
+     * Constructs an empty index using the default list limit.
+     */
+    public AdaptiveIndex() {
+        this(DEFAULT_LIST_LIMIT);
+    }
+
+    /**
+     * Constructs an empty index that migrates to a tree once it stores more than
+     * listLimit distinct words.
+     * @param listLimit largest number of distinct words kept in the list representation
+     * @throws IllegalArgumentException if listLimit is negative
+     */
+    public AdaptiveIndex(int listLimit) {
+        if (listLimit < 0)
+            throw new IllegalArgumentException("List limit cannot be negative!");
+        this.listLimit = listLimit;
+        active = new SortedLinkedList<String>();
+        representation = Representation.SORTED_LIST;
+    }
+
+    /**
+     * Adds an item to the index or increments its count if it is already present.
+     * May migrate the index to a tree if the list grows too large.
+     * @param item new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    @Override
+    public void add(String item) {
+        if (item == null)
+            throw new IllegalArgumentException("Wrong input");
+        active.add(item);
+        if (representation == Representation.SORTED_LIST && active.size() > listLimit)
+            migrateToTree();
+    }
+
+    /**
+     * Removes an item from the index if it exists.
+     * @param item item to be removed
+     */
+    @Override
+    public void remove(String item) {
+        active.remove(item);
+    }
+
+    /**
+     * Returns the count of the item, or -1 if it is not in the index.
+     * @param item item whose count should be returned
+     * @return the count associated with the item, or -1 if the item does not exist
+     */
+    @Override
+    public int get(String item) {
+        return active.get(item);
+    }
+
+    /**
+     * Returns number of unique words stored in the index.
+     * @return number of items stored in the index
+     */
+    @Override
+    public int size() {
+        return active.size();
+    }
+
+    /**
+     * Returns the structure that currently stores the words.
+     * @return the active representation
+     */
+    public Representation getRepresentation() {
+        return representation;
+    }
+
+    /**
+     * Provides an iterator over the words in alphabetical order.
+     * @return an iterator for the index
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return active.iterator();
+    }
+
+    /**
+     * Compares the specified object with this index for equality.
+     * Two indexes are considered equal if they contain the same words with the same counts.
+     * @param o The object to be compared with this index.
+     * @return True if the specified object is equal to this index, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Index))
+            return false;
+        Index list2 = (Index) o;
+        if (this.size() != list2.size())
+            return false;
+        Iterator<Word> iter1 = this.iterator();
+        Iterator<Word> iter2 = list2.iterator();
+        while (iter1.hasNext() && iter2.hasNext())
+            if (!iter1.next().equals(iter2.next()))
+                return false;
+        return !iter1.hasNext() && !iter2.hasNext();
+    }
+
+    /**
+     * Returns a string representation of the index with the words in alphabetical order.
+     * @return a string representation of the index
+     */
+    @Override
+    public String toString() {
+        return active.toString();
+    }
+
+    // Moves all words from the list into a tree that is balanced when it is built
+    private void migrateToTree() {
+        ArrayList<Word> words = new ArrayList<Word>(active.size());
+        for (Word w : active)
+            words.add(w);
+        active = new BSTIndex<String>(words);
+        representation = Representation.BST;
+    }
+}
@@ -0,0 +1,169 @@
+package project5;
+import java.util.*;
+
+/**
+ * This class represents a BK-tree over the words of an Index, used to find all words
+ * within a given Levenshtein (edit) distance of a query. Every child of a node is filed
+ * under its distance to that node, so by the triangle inequality a query at distance
+ * dist from a node only has to visit the children filed under dist - d through dist + d.
+ * A lookup therefore examines only a small part of the vocabulary.
+ *
+ * The tree stores the Word objects returned by the index, so counts reported by a query
+ * are the counts held by those objects. Words added to the index after the tree is built
+ * are not visible until they are added to the tree. Several threads may search the tree
+ * at once, as long as no words are added while they do.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class BKTree {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Constructs an empty BK-tree.
+     */
+    public BKTree() {
+    }
+
+    /**
+     * Constructs a BK-tree containing every word of the index.
+     * @param index the index whose words should be searchable
+     * @throws NullPointerException if index is null
+     */
+    public BKTree(Index index) {
+        if (index == null)
+            throw new NullPointerException("Index cannot be null!");
+        for (Word w : index)
+            add(w);
+    }
+
+    /**
+     * Adds a word to the tree. Does nothing if a word with the same string is already present.
+     * @param word the word to add
+     * @throws NullPointerException if word is null
+     */
+    public void add(Word word) {
+        if (word == null)
+            throw new NullPointerException("Word cannot be null!");
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        int[] previousRow = new int[word.getWord().length() + 1];
+        int[] currentRow = new int[previousRow.length];
+        Node node = root;
+        while (true) {
+            int dist = distance(node.word.getWord(), word.getWord(), previousRow, currentRow);
+            if (dist == 0)
+                return;
+            Node child = node.child(dist);
+            if (child == null) {
+                node.setChild(dist, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the number of words in the tree.
+     * @return number of words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns all words whose edit distance to the query is at most maxDistance,
+     * in alphabetical order.
+     * @param query the word to match
+     * @param maxDistance largest allowed number of insertions, deletions and substitutions
+     * @return the matching Word objects
+     * @throws NullPointerException if query is null
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public List<Word> search(String query, int maxDistance) {
+        if (query == null)
+            throw new NullPointerException("Null value cannot be searched!");
+        if (maxDistance < 0)
+            throw new IllegalArgumentException("Distance cannot be negative!");
+        ArrayList<Word> result = new ArrayList<Word>();
+        if (root == null)
+            return result;
+        // the rows are local to this call, so concurrent searches do not share them
+        int[] previousRow = new int[query.length() + 1];
+        int[] currentRow = new int[previousRow.length];
+        ArrayDeque<Node> toVisit = new ArrayDeque<Node>();
+        toVisit.push(root);
+        while (!toVisit.isEmpty()) {
+            Node node = toVisit.pop();
+            int dist = distance(node.word.getWord(), query, previousRow, currentRow);
+            if (dist <= maxDistance)
+                result.add(node.word);
+            int lo = Math.max(1, dist - maxDistance);
+            int hi = Math.min(node.children.length - 1, dist + maxDistance);
+            for (int d = lo; d <= hi; d++)
+                if (node.children[d] != null)
+                    toVisit.push(node.children[d]);
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings using two rows of the
+     * dynamic programming table. The exact distance is always computed, because a search
+     * uses it to choose the children to visit even when the node itself does not match.
+     * @param a first string
+     * @param b second string
+     * @param previousRow scratch row with room for b.length() + 1 entries
+     * @param currentRow  scratch row with room for b.length() + 1 entries
+     * @return the edit distance
+     */
+    static int distance(String a, String b, int[] previousRow, int[] currentRow) {
+        int m = a.length();
+        int n = b.length();
+        int[] prev = previousRow;
+        int[] curr = currentRow;
+        for (int j = 0; j <= n; j++)
+            prev[j] = j;
+        for (int i = 1; i <= m; i++) {
+            curr[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[n];
+    }
+
+    /**
+     * Node class representing a word and its children indexed by distance.
+     */
+    private static class Node {
+        final Word word;
+        Node[] children = new Node[0]; // children[d] has distance d to this node
+
+        Node(Word word) {
+            this.word = word;
+        }
+
+        Node child(int dist) {
+            return dist < children.length ? children[dist] : null;
+        }
+
+        void setChild(int dist, Node child) {
+            if (dist >= children.length)
+                children = Arrays.copyOf(children, dist + 1);
+            children[dist] = child;
+        }
+    }
+}
@@ -10,7 +10,7 @@ import java.util.*;
  * @author Vedant_Desai
  * @version December 03, 2023
  */
-public class BSTIndex <T extends Comparable<T>> implements Index {
+public class BSTIndex <T extends Comparable<T>> implements CountingIndex {
 
     // Root node of the BST
     private Node root;
@@ -28,6 +28,27 @@ public class BSTIndex <T extends Comparable<T>> implements Index {
         size = 0;
     }
 
+    /**
+     * Constructs a balanced BST from Word objects that are already in alphabetical order.
+     * The Word objects are reused, so their counts are preserved.
+     * @param sortedWords distinct words in alphabetical order
+     */
+    BSTIndex(List<Word> sortedWords) {
+        root = buildBalanced(sortedWords, 0, sortedWords.size() - 1);
+        size = sortedWords.size();
+    }
+
+    // Builds a balanced subtree from sortedWords[lo..hi] by using the middle element as the root
+    private Node buildBalanced(List<Word> sortedWords, int lo, int hi) {
+        if (lo > hi)
+            return null;
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(sortedWords.get(mid));
+        node.left = buildBalanced(sortedWords, lo, mid - 1);
+        node.right = buildBalanced(sortedWords, mid + 1, hi);
+        return node;
+    }
+
     /**
      * Adds a new element to the BST if it's not already present.
      * If the element is already present, increments its count.
@@ -67,6 +88,84 @@ public class BSTIndex <T extends Comparable<T>> implements Index {
         return node;
     }
 
+    /**
+     * Adds all elements of the batch to the BST. The batch is sorted and duplicates are
+     * collapsed first, so each distinct word descends the tree only once and has its count
+     * incremented by the number of times it occurs in the batch. The distinct words are
+     * inserted middle-first so that a sorted batch does not degrade the tree into a list.
+     *
+     * @param items The elements to add to the tree.
+     * @throws NullPointerException if the batch or any of its elements is null.
+     */
+    public void addAll(Collection<String> items) throws NullPointerException {
+        if (items == null)
+            throw new NullPointerException("null value found");
+        addAggregated(Word.aggregate(items));
+    }
+
+    /**
+     * Adds a batch that is already sorted with duplicates collapsed, as returned by
+     * Word.aggregate, inserting the middle word of the batch first. The Word objects of
+     * new elements are linked into the tree, so the batch must not be reused afterwards.
+     *
+     * @param batch The distinct words with their counts, in alphabetical order.
+     */
+    void addAggregated(List<Word> batch) {
+        addAll(batch, 0, batch.size() - 1);
+    }
+
+    /**
+     * Adds the specified element with the given count, or increments the count of the
+     * existing element by that amount, with a single descent of the tree.
+     *
+     * @param data The element to add to the tree.
+     * @param count The number of occurrences to add.
+     * @throws NullPointerException if the specified element is null.
+     * @throws IllegalArgumentException if count is not positive.
+     */
+    @Override
+    public void add(String data, int count) throws NullPointerException {
+        if (data == null)
+            throw new NullPointerException("null value found");
+        if (count <= 0)
+            throw new IllegalArgumentException("Count must be positive!");
+        add(new Word(data, count));
+    }
+
+    // Inserts batch[lo..hi], starting with the middle word of the range
+    private void addAll(List<Word> batch, int lo, int hi) {
+        if (lo > hi)
+            return;
+        int mid = (lo + hi) >>> 1;
+        add(batch.get(mid));
+        addAll(batch, lo, mid - 1);
+        addAll(batch, mid + 1, hi);
+    }
+
+    // Adds the count of w to its node with a single iterative descent, or inserts w itself
+    private void add(Word w) {
+        Node node = root;
+        Node parent = null;
+        int diff = 0;
+        while (node != null) {
+            diff = w.compareTo(node.data);
+            if (diff == 0) {
+                node.data.incrementCount(w.getCount());
+                return;
+            }
+            parent = node;
+            node = diff < 0 ? node.left : node.right;
+        }
+        Node newNode = new Node(w);
+        if (parent == null)
+            root = newNode;
+        else if (diff < 0)
+            parent.left = newNode;
+        else
+            parent.right = newNode;
+        size++;
+    }
+
     /**
      * Removes the specified element from the tree.
      * Does nothing if the element or root is null.
@@ -314,6 +413,12 @@ public class BSTIndex <T extends Comparable<T>> implements Index {
             right = null;
         }
 
+        // Constructor for Node that stores an existing Word object
+        Node(Word word) {
+            if (word == null ) throw new NullPointerException ("Invalid value!");
+            data = word;
+        }
+
         /**
          * Constructs a Node with the specified element, left child, and right child.
          * 
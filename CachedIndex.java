@@ -0,0 +1,203 @@
+package project5;
+import java.util.*;
+
+/**
+ * This class wraps any Index with a small direct-mapped cache of recently added words.
+ * Each cache slot holds one word and the number of times it has been added since it
+ * entered the cache. An add that hits the cache only increments that number; the
+ * underlying index is updated when the word is evicted by another word mapping to the
+ * same slot, and all pending counts are flushed before the index is iterated, measured
+ * or compared. For text where a few words dominate, most adds never reach the slower
+ * structure.
+ *
+ * When the wrapped index is a CountingIndex, an evicted count is written in one
+ * operation; otherwise the word is added once per pending occurrence.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class CachedIndex implements Index {
+
+    // Default number of cache slots
+    public static final int DEFAULT_SLOTS = 256;
+
+    private final Index index;     // the wrapped index
+    private final String[] words;  // cached word in each slot, null if the slot is empty
+    private final int[] pending;   // occurrences of the cached word not yet in the index
+    private final int mask;        // slots - 1, the number of slots is a power of two
+
+    /**
+     * Constructs a cache with the default number of slots in front of an index.
+     * @param index the index to wrap
+     * @throws NullPointerException if index is null
+     */
+    public CachedIndex(Index index) {
+        this(index, DEFAULT_SLOTS);
+    }
+
+    /**
+     * Constructs a cache in front of an index.
+     * @param index the index to wrap
+     * @param slots number of cache slots, rounded up to a power of two
+     * @throws NullPointerException if index is null
+     * @throws IllegalArgumentException if slots is not positive
+     */
+    public CachedIndex(Index index, int slots) {
+        if (index == null)
+            throw new NullPointerException("Index cannot be null!");
+        if (slots <= 0)
+            throw new IllegalArgumentException("Number of slots must be positive!");
+        int capacity = 1;
+        while (capacity < slots)
+            capacity <<= 1;
+        this.index = index;
+        words = new String[capacity];
+        pending = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds an item. If the item is in the cache only its pending count changes; otherwise
+     * the word currently in its slot is flushed to the index and replaced by the item.
+     * @param item new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    @Override
+    public void add(String item) {
+        if (item == null)
+            throw new IllegalArgumentException("Wrong input");
+        int slot = slotOf(item);
+        if (item.equals(words[slot])) {
+            pending[slot]++;
+            return;
+        }
+        flush(slot);
+        words[slot] = item;
+        pending[slot] = 1;
+    }
+
+    /**
+     * Removes an item from the index, including any occurrences pending in the cache.
+     * @param item item to be removed
+     */
+    @Override
+    public void remove(String item) {
+        if (item == null)
+            return;
+        int slot = slotOf(item);
+        if (item.equals(words[slot])) {
+            // the pending occurrences are dropped rather than written and then removed
+            words[slot] = null;
+            pending[slot] = 0;
+            if (index.get(item) == -1)
+                return; // the word only existed in the cache
+        }
+        index.remove(item);
+    }
+
+    /**
+     * Returns the count of the item including occurrences pending in the cache,
+     * or -1 if the item does not exist.
+     * @param item item whose count should be returned
+     * @return the count associated with the item, or -1 if the item does not exist
+     */
+    @Override
+    public int get(String item) {
+        int count = index.get(item);
+        int slot = slotOf(item);
+        if (item.equals(words[slot]))
+            return Math.max(count, 0) + pending[slot];
+        return count;
+    }
+
+    /**
+     * Returns number of unique words, after flushing the cache.
+     * @return number of items stored in the index
+     */
+    @Override
+    public int size() {
+        flushAll();
+        return index.size();
+    }
+
+    /**
+     * Provides an iterator over the wrapped index after flushing the cache.
+     * @return an iterator for the index
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        flushAll();
+        return index.iterator();
+    }
+
+    /**
+     * Returns the wrapped index after flushing the cache.
+     * @return the wrapped index
+     */
+    public Index getIndex() {
+        flushAll();
+        return index;
+    }
+
+    /**
+     * Writes every pending count to the wrapped index and empties the cache.
+     */
+    public void flushAll() {
+        for (int slot = 0; slot < words.length; slot++)
+            flush(slot);
+    }
+
+    /**
+     * Compares the specified object with this index for equality, after flushing the cache.
+     * @param o The object to be compared with this index.
+     * @return True if the specified object contains the same words with the same counts.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Index))
+            return false;
+        Index list2 = (Index) o;
+        if (this.size() != list2.size())
+            return false;
+        Iterator<Word> iter1 = this.iterator();
+        Iterator<Word> iter2 = list2.iterator();
+        while (iter1.hasNext() && iter2.hasNext())
+            if (!iter1.next().equals(iter2.next()))
+                return false;
+        return !iter1.hasNext() && !iter2.hasNext();
+    }
+
+    /**
+     * Returns a string representation of the wrapped index after flushing the cache.
+     * @return a string representation of the index
+     */
+    @Override
+    public String toString() {
+        flushAll();
+        return index.toString();
+    }
+
+    // Writes the pending count of one slot to the index and empties the slot
+    private void flush(int slot) {
+        String word = words[slot];
+        if (word == null)
+            return;
+        int count = pending[slot];
+        if (index instanceof CountingIndex) {
+            ((CountingIndex) index).add(word, count);
+        } else {
+            for (int i = 0; i < count; i++)
+                index.add(word);
+        }
+        words[slot] = null;
+        pending[slot] = 0;
+    }
+
+    // Maps a word to its cache slot
+    private int slotOf(String item) {
+        int h = item.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,210 @@
+package project3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This is a step function giving the number of sessions in progress at every instant.
+ * A session counts from its login time up to (but not including) its logout time; an
+ * active session counts until the end of time. The function is computed with one sweep
+ * over the sorted login and logout times and stored as two primitive arrays: the times
+ * at which the count changes and the count from each of those times on. Point lookups
+ * are binary searches.
+ * author Vedant Desai
+ */
+public class ConcurrencyTimeline {
+
+    private final long[] times;  // instants at which the count changes, increasing
+    private final int[] counts;  // counts[i] is the count from times[i] until times[i + 1]
+
+    /**
+     * Builds the timeline of a group of sessions.
+     *
+     * @param sessions The sessions.
+     */
+    public ConcurrencyTimeline(Iterable<Session> sessions) {
+        int n = 0;
+        for (Session session : sessions) {
+            n++;
+        }
+        long[] logins = new long[n];
+        long[] logouts = new long[n];
+        int loginCount = 0;
+        int logoutCount = 0;
+        for (Session session : sessions) {
+            logins[loginCount++] = session.getLoginTime().getTime();
+            if (session.getLogoutTime() != null) {
+                logouts[logoutCount++] = session.getLogoutTime().getTime();
+            }
+        }
+        Arrays.sort(logins, 0, loginCount);
+        Arrays.sort(logouts, 0, logoutCount);
+
+        // sweep both sorted arrays, applying all changes at the same instant together
+        long[] stepTimes = new long[loginCount + logoutCount];
+        int[] stepCounts = new int[loginCount + logoutCount];
+        int steps = 0;
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < loginCount || j < logoutCount) {
+            long t = j >= logoutCount || (i < loginCount && logins[i] <= logouts[j]) ? logins[i] : logouts[j];
+            while (i < loginCount && logins[i] == t) {
+                count++;
+                i++;
+            }
+            while (j < logoutCount && logouts[j] == t) {
+                count--;
+                j++;
+            }
+            if (steps == 0 || stepCounts[steps - 1] != count) {
+                stepTimes[steps] = t;
+                stepCounts[steps] = count;
+                steps++;
+            }
+        }
+        times = Arrays.copyOf(stepTimes, steps);
+        counts = Arrays.copyOf(stepCounts, steps);
+    }
+
+    /**
+     * Builds the timeline of all sessions found in a list of records.
+     *
+     * @param recordList The records.
+     * @return The global timeline.
+     */
+    public static ConcurrencyTimeline fromRecords(RecordList recordList) {
+        return new ConcurrencyTimeline(SessionBuilder.build(recordList));
+    }
+
+    /**
+     * Builds one timeline per terminal.
+     *
+     * @param sessions The sessions.
+     * @return The timeline of each terminal.
+     */
+    public static Map<Integer, ConcurrencyTimeline> perTerminal(Iterable<Session> sessions) {
+        return grouped(sessions, Session::getTerminal);
+    }
+
+    /**
+     * Builds one timeline per user.
+     *
+     * @param sessions The sessions.
+     * @return The timeline of each user.
+     */
+    public static Map<String, ConcurrencyTimeline> perUser(Iterable<Session> sessions) {
+        return grouped(sessions, Session::getUsername);
+    }
+
+    private static <K> Map<K, ConcurrencyTimeline> grouped(Iterable<Session> sessions, Function<Session, K> key) {
+        HashMap<K, List<Session>> groups = new HashMap<>();
+        for (Session session : sessions) {
+            groups.computeIfAbsent(key.apply(session), k -> new ArrayList<>()).add(session);
+        }
+        HashMap<K, ConcurrencyTimeline> timelines = new HashMap<>();
+        for (Map.Entry<K, List<Session>> group : groups.entrySet()) {
+            timelines.put(group.getKey(), new ConcurrencyTimeline(group.getValue()));
+        }
+        return timelines;
+    }
+
+    /**
+     * Returns the number of sessions in progress at an instant.
+     *
+     * @param time The instant in milliseconds.
+     * @return The number of sessions in progress.
+     */
+    public int countAt(long time) {
+        int i = Arrays.binarySearch(times, time);
+        if (i < 0) {
+            i = -i - 2;  // last change before time
+        }
+        return i < 0 ? 0 : counts[i];
+    }
+
+    /**
+     * @return The largest number of sessions in progress at the same time.
+     */
+    public int getPeak() {
+        int peak = 0;
+        for (int count : counts) {
+            peak = Math.max(peak, count);
+        }
+        return peak;
+    }
+
+    /**
+     * @return The first instant at which the peak is reached, or -1 if there are no sessions.
+     */
+    public long getPeakTime() {
+        int peak = getPeak();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == peak && peak > 0) {
+                return times[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns how long the number of sessions in progress was at least threshold within
+     * the range [from, to).
+     *
+     * @param threshold The smallest count of interest.
+     * @param from      Start of the range in milliseconds.
+     * @param to        End of the range in milliseconds.
+     * @return The total time in milliseconds.
+     * @throws IllegalArgumentException if from is after to.
+     */
+    public long getTimeAtLeast(int threshold, long from, long to) {
+        if (from > to) {
+            throw new IllegalArgumentException("Invalid time range.");
+        }
+        long total = 0;
+        int i = Arrays.binarySearch(times, from);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        long segmentStart = from;
+        int count = i < 0 ? 0 : counts[i];
+        for (i = i + 1; i < times.length && times[i] < to; i++) {
+            if (count >= threshold) {
+                total += times[i] - segmentStart;
+            }
+            segmentStart = times[i];
+            count = counts[i];
+        }
+        if (count >= threshold) {
+            total += to - segmentStart;
+        }
+        return total;
+    }
+
+    /**
+     * @return The number of steps in the function.
+     */
+    public int getStepCount() {
+        return times.length;
+    }
+
+    /**
+     * @param i The index of a step.
+     * @return The instant at which step i starts.
+     */
+    public long getStepTime(int i) {
+        return times[i];
+    }
+
+    /**
+     * @param i The index of a step.
+     * @return The number of sessions in progress during step i.
+     */
+    public int getCountAtStep(int i) {
+        return counts[i];
+    }
+}
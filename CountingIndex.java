@@ -0,0 +1,21 @@
+package project5;
+
+/**
+ * An Index that can add several occurrences of a word in one operation.
+ * Structures that implement it let callers that have already counted words,
+ * such as caches or batch loaders, update a word once instead of once per occurrence.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+interface CountingIndex extends Index {
+
+    /**
+     * Adds count occurrences of an item to the index. If the Word object with the
+     * same string as item already exists, its count is incremented by count.
+     *
+     * @param item item to be added
+     * @param count number of occurrences, must be positive
+     */
+    void add(String item, int count);
+}
@@ -0,0 +1,182 @@
+package project3;
+
+import java.util.Arrays;
+
+/**
+ * This is a streaming summary of session durations that answers quantile queries, such as
+ * the median or the 99th percentile, without storing the durations. Durations are counted in
+ * buckets whose bounds grow geometrically by a factor gamma = (1 + a) / (1 - a), where a is
+ * the relative accuracy. Every returned quantile is within a factor 1 +- a of the duration
+ * of that rank, and the number of buckets only grows with the logarithm of the largest
+ * duration: with the default accuracy of 1%, durations up to a year need about 1200 buckets.
+ * Two sketches with the same accuracy can be merged by adding their bucket counts, so
+ * partitions can be summarized separately and combined.
+ * author Vedant Desai
+ */
+public class DurationSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01; // 1% relative error
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private long[] counts = new long[0]; // counts[i] is the count of bucket offset + i
+    private int offset;
+    private long zeroCount;              // durations of 0 ms, which have no logarithm
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Creates an empty sketch with the default relative accuracy.
+     */
+    public DurationSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param relativeAccuracy The relative error of the quantiles, between 0 and 1 exclusive.
+     * @throws IllegalArgumentException if the accuracy is out of range.
+     */
+    public DurationSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1.");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Adds a duration.
+     *
+     * @param duration The duration in milliseconds.
+     * @throws IllegalArgumentException if the duration is negative.
+     */
+    public void add(long duration) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative.");
+        }
+        if (duration == 0) {
+            zeroCount++;
+        } else {
+            int bucket = (int) Math.ceil(Math.log(duration) / logGamma);
+            ensureBucket(bucket);
+            counts[bucket - offset]++;
+        }
+        count++;
+        min = Math.min(min, duration);
+        max = Math.max(max, duration);
+    }
+
+    /**
+     * Adds all durations of another sketch to this one.
+     *
+     * @param other A sketch with the same relative accuracy.
+     * @throws IllegalArgumentException if the accuracies differ.
+     */
+    public void merge(DurationSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Sketches with different accuracies cannot be merged.");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                ensureBucket(other.offset + i);
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Estimates the duration at a quantile.
+     *
+     * @param quantile The quantile, for example 0.5 for the median or 0.99.
+     * @return The estimated duration in milliseconds.
+     * @throws IllegalArgumentException if the quantile is not between 0 and 1.
+     * @throws java.util.NoSuchElementException if the sketch is empty.
+     */
+    public long getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+        }
+        if (count == 0) {
+            throw new java.util.NoSuchElementException("No durations recorded.");
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // the value in the bucket with the same relative distance to both bounds
+                long estimate = Math.round(2 * Math.pow(gamma, offset + i) / (gamma + 1));
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return The number of durations added.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The shortest duration added, or Long.MAX_VALUE if the sketch is empty.
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * @return The longest duration added, or Long.MIN_VALUE if the sketch is empty.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The relative accuracy of the quantiles.
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "no sessions";
+        }
+        return "sessions " + count + ", p50 " + getQuantile(0.5) + " ms, p95 " + getQuantile(0.95)
+            + " ms, p99 " + getQuantile(0.99) + " ms";
+    }
+
+    // Grows the bucket array so that it covers the bucket
+    private void ensureBucket(int bucket) {
+        if (counts.length == 0) {
+            counts = new long[8];
+            offset = bucket;
+        } else if (bucket < offset) {
+            int grow = Math.max(offset - bucket, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (bucket - offset >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(bucket - offset + 1, counts.length + counts.length / 2));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package project3;
+
+import java.util.HashMap;
+
+/**
+ * This keeps quantile sketches of session durations per user, per terminal and for all
+ * sessions, so percentiles can be queried without storing the sessions. Only completed
+ * sessions have a duration; active sessions are added when they end. Statistics of
+ * separate partitions of the sessions can be merged.
+ * author Vedant Desai
+ */
+public class DurationStatistics {
+
+    private final double relativeAccuracy;
+    private final DurationSketch global;
+    private final HashMap<String, DurationSketch> byUser = new HashMap<>();
+    private final HashMap<Integer, DurationSketch> byTerminal = new HashMap<>();
+
+    /**
+     * Creates empty statistics with the default relative accuracy.
+     */
+    public DurationStatistics() {
+        this(DurationSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param relativeAccuracy The relative error of the quantiles.
+     */
+    public DurationStatistics(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.global = new DurationSketch(relativeAccuracy);
+    }
+
+    /**
+     * Collects the durations of a collection of sessions.
+     *
+     * @param sessions The sessions; active sessions are skipped.
+     * @return The statistics of the sessions.
+     */
+    public static DurationStatistics of(Iterable<Session> sessions) {
+        DurationStatistics statistics = new DurationStatistics();
+        for (Session session : sessions) {
+            statistics.add(session);
+        }
+        return statistics;
+    }
+
+    /**
+     * Adds the duration of a session if it has ended.
+     *
+     * @param session The session.
+     */
+    public void add(Session session) {
+        if (session.getDuration() != -1) {
+            add(session.getUsername(), session.getTerminal(), session.getDuration());
+        }
+    }
+
+    /**
+     * Adds the duration of a session that has just ended.
+     *
+     * @param user     The user of the session.
+     * @param terminal The terminal of the session.
+     * @param duration The duration in milliseconds.
+     */
+    public void add(String user, int terminal, long duration) {
+        global.add(duration);
+        byUser.computeIfAbsent(user, u -> new DurationSketch(relativeAccuracy)).add(duration);
+        byTerminal.computeIfAbsent(terminal, t -> new DurationSketch(relativeAccuracy)).add(duration);
+    }
+
+    /**
+     * Adds all durations of other statistics, for example of another partition, to these.
+     *
+     * @param other Statistics with the same relative accuracy.
+     */
+    public void merge(DurationStatistics other) {
+        global.merge(other.global);
+        for (String user : other.byUser.keySet()) {
+            byUser.computeIfAbsent(user, u -> new DurationSketch(relativeAccuracy)).merge(other.byUser.get(user));
+        }
+        for (Integer terminal : other.byTerminal.keySet()) {
+            byTerminal.computeIfAbsent(terminal, t -> new DurationSketch(relativeAccuracy))
+                .merge(other.byTerminal.get(terminal));
+        }
+    }
+
+    /**
+     * @return The sketch of all completed sessions.
+     */
+    public DurationSketch getGlobal() {
+        return global;
+    }
+
+    /**
+     * @param user The user.
+     * @return The sketch of the user's completed sessions, or null if there are none.
+     */
+    public DurationSketch getUser(String user) {
+        return byUser.get(user);
+    }
+
+    /**
+     * @param terminal The terminal.
+     * @return The sketch of the terminal's completed sessions, or null if there are none.
+     */
+    public DurationSketch getTerminal(int terminal) {
+        return byTerminal.get(terminal);
+    }
+}
@@ -0,0 +1,232 @@
+package project5;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * FastFileParser produces the same list of words as FileParser, but works on the raw
+ * bytes of the file instead of going through Scanner and per-character processing.
+ * ASCII input is classified eight bytes at a time: each group of eight bytes is loaded
+ * into a long, and bit tricks on all lanes at once decide whether every byte is a letter
+ * and fold upper case letters to lower case. Groups that mix letters with other bytes
+ * fall back to a byte-by-byte loop, and tokens containing non-ASCII bytes are decoded
+ * and processed exactly like FileParser does.
+ *
+ * Like FileParser, the file is decoded with the platform default charset unless another
+ * one is given. Working on bytes requires a charset in which ASCII characters are single
+ * bytes that never occur inside other characters, as in UTF-8, US-ASCII or the ISO-8859
+ * family; for any other charset the whole text is decoded first and split the slow way.
+ * Bytes that are not valid in the charset are replaced by U+FFFD, which is not a letter;
+ * Scanner, and therefore FileParser, stops reading at such bytes instead.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class FastFileParser {
+
+    // Reads and writes eight bytes of an array as one little-endian long
+    private static final VarHandle LONGS =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long ONES = 0x0101010101010101L;
+
+    private final byte[] data;       // contents of the input file
+    private final Charset charset;   // encoding of data
+    private final boolean byteSafe;  // true if ASCII bytes can be classified without decoding
+
+    /**
+     * Creates FastFileParser object given a string containing the name of the input
+     * file to be parsed. The file is decoded with the platform default charset.
+     *
+     * @param fileName name of the input file to be parsed
+     * @throws IOException if the input file cannot be opened for reading
+     */
+    public FastFileParser(String fileName) throws IOException {
+        this(fileName, Charset.defaultCharset());
+    }
+
+    /**
+     * Creates FastFileParser object for a file in the given charset.
+     *
+     * @param fileName name of the input file to be parsed
+     * @param charset  encoding of the file
+     * @throws IOException if the input file cannot be opened for reading
+     */
+    public FastFileParser(String fileName, Charset charset) throws IOException {
+        File f = new File(fileName);
+        // if file does not exist, throw an exception
+        if (!f.exists())
+            throw new IOException(String.format("File: %s  does not exist.", fileName));
+        // if file cannot be read
+        if (!f.canRead())
+            throw new IOException(String.format("File: %s  cannot be accessed for reading.", fileName));
+        data = Files.readAllBytes(f.toPath());
+        this.charset = charset;
+        byteSafe = isByteSafe(charset);
+    }
+
+    /**
+     * Creates FastFileParser object for text that is already in memory.
+     *
+     * @param data    encoded text to be parsed
+     * @param charset encoding of the text
+     */
+    FastFileParser(byte[] data, Charset charset) {
+        this.data = data;
+        this.charset = charset;
+        byteSafe = isByteSafe(charset);
+    }
+
+    /**
+     * Retrieves list of all words from the input. Tokens are separated by whitespace,
+     * converted to lower case, stripped of non-alphabetic characters and cut at the first
+     * apostrophe, as in FileParser.
+     *
+     * @return an array list containing all words from the input
+     */
+    public ArrayList<String> getAllWords() {
+        ArrayList<String> listOfWords = new ArrayList<String>(5000);
+        if (!byteSafe) {
+            split(listOfWords, new String(data, charset));
+            return listOfWords;
+        }
+        byte[] word = new byte[64]; // letters of the current token, already lower case
+        int length = 0;             // number of bytes in word
+        int tokenStart = -1;        // offset of the current token, -1 between tokens
+        boolean cut = false;        // true once an apostrophe has ended the current token
+        boolean ascii = true;       // false if the current token has non-ASCII bytes
+
+        int i = 0;
+        while (i < data.length) {
+            // fast path: eight letters in a row inside a token
+            if (tokenStart >= 0 && !cut && ascii && i + 8 <= data.length) {
+                long v = (long) LONGS.get(data, i);
+                long upper = inRange(v, 'A', 'Z');
+                long lower = inRange(v, 'a', 'z');
+                if ((v & HIGH_BITS) == 0 && (upper | lower) == HIGH_BITS) {
+                    if (length + 8 > word.length)
+                        word = Arrays.copyOf(word, word.length * 2);
+                    // setting bit 5 turns 'A'..'Z' into 'a'..'z'
+                    LONGS.set(word, length, v | (upper >>> 2));
+                    length += 8;
+                    i += 8;
+                    continue;
+                }
+            }
+
+            // scalar path: one byte at a time
+            byte b = data[i];
+            if (isWhitespace(b)) {
+                if (tokenStart >= 0) {
+                    emit(listOfWords, word, length, tokenStart, i, ascii);
+                    tokenStart = -1;
+                }
+            } else {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                    length = 0;
+                    cut = false;
+                    ascii = true;
+                }
+                if (b < 0) {
+                    ascii = false;
+                } else if (!cut) {
+                    if (b >= 'A' && b <= 'Z')
+                        b |= 0x20;
+                    if (b >= 'a' && b <= 'z') {
+                        if (length == word.length)
+                            word = Arrays.copyOf(word, word.length * 2);
+                        word[length++] = b;
+                    } else if (b == '\'') {
+                        cut = true;
+                    }
+                }
+            }
+            i++;
+        }
+        if (tokenStart >= 0)
+            emit(listOfWords, word, length, tokenStart, data.length, ascii);
+        return listOfWords;
+    }
+
+    // Adds the finished token to the list; non-ASCII tokens are reprocessed from their bytes
+    private void emit(ArrayList<String> listOfWords, byte[] word, int length,
+                      int start, int end, boolean ascii) {
+        if (ascii) {
+            if (length != 0)
+                listOfWords.add(new String(word, 0, length, StandardCharsets.ISO_8859_1));
+            return;
+        }
+        // a non-ASCII token may still contain Unicode whitespace, so split it the way Scanner would
+        split(listOfWords, new String(data, start, end - start, charset));
+    }
+
+    // Splits decoded text at whitespace and adds the cleaned words, like FileParser
+    private static void split(ArrayList<String> listOfWords, String text) {
+        int from = 0;
+        for (int k = 0; k <= text.length(); k++) {
+            if (k == text.length() || Character.isWhitespace(text.charAt(k))) {
+                if (k > from) {
+                    String nextWord = stripNonLetters(text.substring(from, k).toLowerCase());
+                    if (nextWord.length() != 0)
+                        listOfWords.add(nextWord);
+                }
+                from = k + 1;
+            }
+        }
+    }
+
+    /**
+     * Removes any non-alphabetic characters from token word and returns a modified
+     * word. Same as FileParser.stripNonLetters.
+     *
+     * @param word token representing a potential word
+     * @return "pure" words that contain only alphabetic characters
+     */
+    static String stripNonLetters(String word) {
+        StringBuilder cleanWord = new StringBuilder();
+        char current;
+        for (int i = 0; i < word.length(); i++) {
+            current = word.charAt(i);
+            if (Character.isAlphabetic(current))
+                cleanWord.append(current);
+            if (current == '\'')
+                break;
+        }
+        return cleanWord.toString();
+    }
+
+    // Returns a mask with the high bit of each byte set if that byte of v is in [lo, hi];
+    // every byte of v must be below 0x80 for the result to be meaningful
+    private static long inRange(long v, int lo, int hi) {
+        long aboveLo = v + ONES * (0x80 - lo);      // high bit set where byte >= lo
+        long aboveHi = v + ONES * (0x80 - hi - 1);  // high bit set where byte > hi
+        return aboveLo & ~aboveHi & HIGH_BITS;
+    }
+
+    // True for UTF-8 and for single-byte charsets that encode ASCII as itself
+    private static boolean isByteSafe(Charset charset) {
+        if (!charset.canEncode())
+            return false;
+        if (!charset.equals(StandardCharsets.UTF_8) && charset.newEncoder().maxBytesPerChar() != 1.0f)
+            return false;
+        byte[] ascii = new byte[128];
+        for (int i = 0; i < ascii.length; i++)
+            ascii[i] = (byte) i;
+        return Arrays.equals(new String(ascii, StandardCharsets.US_ASCII).getBytes(charset), ascii);
+    }
+
+    // ASCII characters that Character.isWhitespace accepts
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+    }
+}
@@ -0,0 +1,100 @@
+package project5;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+
+/**
+ * The FrequentNGrams program parses an input text file and computes the frequency
+ * of phrases (bigrams or trigrams) that appear in the input file.
+ * It produces a list of most frequent phrases in the same format as FrequentWords.
+ *
+ * Usage: java FrequentNGrams inputFile cutOffValue outputFile [n]
+ *
+ * n is the number of words in a phrase, 2 (default) or 3. Only the phrases whose
+ * count is equal to or greater than the cutOffValue are printed to the output file,
+ * in alphabetical order, one per line together with their counts.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class FrequentNGrams {
+
+    /*
+     * @param args command line arguments as described above
+     */
+    public static void main(String[] args) {
+        long start, end;
+
+        // verify number of command line arguments
+        if (args.length < 3) {
+            System.err.printf("\nERROR : missing parameters. \n\n");
+            System.exit(1);
+        }
+
+        int n = 2;
+        if (args.length > 3) {
+            try {
+                n = Integer.parseInt(args[3]);
+            } catch (NumberFormatException e) {
+                n = -1;
+            }
+        }
+        if (n != 2 && n != 3) {
+            System.err.println("ERROR: n must be 2 or 3.");
+            System.exit(1);
+        }
+
+        // make sure that the output file argument is valid
+        File outFile = new File(args[2]);
+        PrintWriter out = null;
+        try {
+            out = new PrintWriter(outFile);
+        } catch (FileNotFoundException e) {
+            System.err.println("ERROR: problem encountered opening output file.");
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+
+        FileParser fp = null;
+        try {
+            fp = new FileParser(args[0]);
+        } catch (IOException e) {
+            System.err.println("ERROR: problem encountered reading file:");
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+        start = System.nanoTime();
+        ArrayList<String> allWords = fp.getAllWords();
+        end = System.nanoTime();
+        System.out.printf("INFO: Reading file took %d ms (~ %7.3f seconds).\n", (end - start) / 1000000,
+                          (end - start) / 1000000000.0);
+        System.out.printf("INFO: %d words read. \n", allWords.size());
+
+        // the word index provides the vocabulary from which word ids are assigned
+        start = System.nanoTime();
+        Index words = new BSTIndex<String>();
+        FrequentWords.populateIndex(words, allWords);
+        NGramIndex ngrams = new NGramIndex(n, words, allWords);
+        end = System.nanoTime();
+        System.out.printf("INFO: Creating %d-gram index took %d ms (~ %7.3f seconds).\n", n,
+                          (end - start) / 1000000, (end - start) / 1000000000.0);
+        System.out.printf("INFO: %d phrases stored in index.\n", ngrams.size());
+
+        // prune the index by removing phrases whose count is smaller than minCount
+        start = System.nanoTime();
+        ngrams.prune(Integer.valueOf(args[1]));
+        end = System.nanoTime();
+        System.out.printf("INFO: Pruning index took %d ms (~ %7.3f seconds).\n",
+                          (end - start) / 1000000, (end - start) / 1000000000.0);
+        System.out.printf("INFO: %d phrases remaining after pruning.\n", ngrams.size());
+
+        // write data to the output file
+        for (String entry : ngrams.sortedEntries()) {
+            out.println(entry);
+        }
+        out.close();
+    }
+}
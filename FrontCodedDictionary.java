@@ -0,0 +1,298 @@
+package project5;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * This class represents a read-only dictionary of words and counts stored in a front-coded
+ * binary file. Words are written in alphabetical order and each word stores only the length
+ * of the prefix it shares with the previous word followed by the remaining bytes. Every
+ * blockSize words the prefix is reset and the full word is written (a restart point), and
+ * the offsets of the restart points are stored at the start of the file. A lookup binary
+ * searches the restart points and then decodes at most one block.
+ *
+ * File layout (all ints are big-endian, vint is a variable-byte int):
+ *   int magic, int entryCount, int blockSize, int restartCount, int[restartCount] offsets,
+ *   entries: vint shared, vint suffixLength, byte[suffixLength] suffix (UTF-8), vint count
+ *
+ * The dictionary can be converted from the output of FrequentWords:
+ *   java FrontCodedDictionary wordListFile dictionaryFile [blockSize]
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class FrontCodedDictionary implements Iterable<Word> {
+
+    private static final int MAGIC = 0x46434431; // "FCD1"
+
+    // Default number of words between restart points
+    public static final int DEFAULT_BLOCK_SIZE = 16;
+
+    private final ByteBuffer data;   // whole file, usually memory-mapped
+    private final int size;          // number of words
+    private final int blockSize;     // words per block
+    private final int[] restarts;    // offset of the first entry of each block
+    private final String[] firstWords; // full word at each restart point, decoded lazily
+
+    /**
+     * Converts a word list written by FrequentWords into a front-coded dictionary.
+     * @param args input word list, output dictionary file and an optional block size
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.printf("\nERROR : missing parameters. \n\n");
+            System.exit(1);
+        }
+        int blockSize = DEFAULT_BLOCK_SIZE;
+        if (args.length > 2)
+            blockSize = Integer.parseInt(args[2]);
+        try {
+            ArrayList<Word> words = readWordList(new File(args[0]));
+            write(words, new File(args[1]), blockSize);
+            System.out.printf("INFO: %d words written (%d bytes, text was %d bytes).\n", words.size(),
+                              new File(args[1]).length(), new File(args[0]).length());
+        } catch (IOException e) {
+            System.err.println("ERROR: problem encountered converting word list:");
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads a word list in the format written by FrequentWords: one word per line,
+     * preceded by its count.
+     * @param file the word list
+     * @return the words with their counts, in file order
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    static ArrayList<Word> readWordList(File file) throws IOException {
+        ArrayList<Word> words = new ArrayList<Word>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty())
+                    continue;
+                String[] parts = line.split("\\s+");
+                if (parts.length != 2)
+                    throw new IOException("Malformed line: " + line);
+                try {
+                    words.add(new Word(parts[1], Integer.parseInt(parts[0])));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed line: " + line);
+                }
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Writes words in front-coded form. The words must be distinct and in alphabetical
+     * order, as produced by iterating an Index.
+     *
+     * @param words     the words to write
+     * @param file      the output file
+     * @param blockSize number of words between restart points
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the words are not in strictly increasing order
+     *         or blockSize is not positive
+     */
+    public static void write(Iterable<Word> words, File file, int blockSize) throws IOException {
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("Block size must be positive!");
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        ArrayList<Integer> restartOffsets = new ArrayList<Integer>();
+        String previous = null;
+        byte[] previousBytes = new byte[0];
+        int count = 0;
+        for (Word w : words) {
+            String word = w.getWord();
+            if (previous != null && previous.compareTo(word) >= 0)
+                throw new IllegalArgumentException("Words are not in alphabetical order: " + word);
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            int shared = 0;
+            if (count % blockSize == 0) {
+                restartOffsets.add(entries.size());
+            } else {
+                int max = Math.min(bytes.length, previousBytes.length);
+                while (shared < max && bytes[shared] == previousBytes[shared])
+                    shared++;
+            }
+            VarInt.write(entries, shared);
+            VarInt.write(entries, bytes.length - shared);
+            entries.write(bytes, shared, bytes.length - shared);
+            VarInt.write(entries, w.getCount());
+            previous = word;
+            previousBytes = bytes;
+            count++;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(count);
+            out.writeInt(blockSize);
+            out.writeInt(restartOffsets.size());
+            int header = 16 + 4 * restartOffsets.size();
+            for (int offset : restartOffsets)
+                out.writeInt(header + offset);
+            entries.writeTo(out);
+        }
+    }
+
+    /**
+     * Opens a dictionary file by memory-mapping it.
+     * @param file the dictionary file
+     * @throws IOException if the file cannot be read or is not a dictionary
+     */
+    public FrontCodedDictionary(File file) throws IOException {
+        this(map(file));
+    }
+
+    /**
+     * Opens a dictionary stored in a buffer.
+     * @param data the contents of a dictionary file
+     * @throws IOException if the buffer does not contain a dictionary
+     */
+    FrontCodedDictionary(ByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.limit() < 16 || data.getInt(0) != MAGIC)
+            throw new IOException("Not a front-coded dictionary.");
+        size = data.getInt(4);
+        blockSize = data.getInt(8);
+        restarts = new int[data.getInt(12)];
+        for (int i = 0; i < restarts.length; i++)
+            restarts[i] = data.getInt(16 + 4 * i);
+        firstWords = new String[restarts.length];
+    }
+
+    /**
+     * Returns the count of the word, or -1 if the word is not in the dictionary.
+     * @param word the word to look up
+     * @return the count associated with the word, or -1 if it does not exist
+     * @throws NullPointerException if the word is null
+     */
+    public int get(String word) {
+        if (word == null)
+            throw new NullPointerException("Null value cannot be searched!");
+        // find the last block whose first word is not larger than word
+        int lo = 0;
+        int hi = restarts.length - 1;
+        int block = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int diff = firstWord(mid).compareTo(word);
+            if (diff == 0)
+                return new Cursor(restarts[mid]).nextCount();
+            if (diff < 0) {
+                block = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (block < 0)
+            return -1;
+        Cursor c = new Cursor(restarts[block]);
+        int entries = Math.min(blockSize, size - block * blockSize);
+        for (int i = 0; i < entries; i++) {
+            String current = c.nextWord();
+            int count = c.readVInt();
+            int diff = current.compareTo(word);
+            if (diff == 0)
+                return count;
+            if (diff > 0)
+                break;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of words in the dictionary.
+     * @return number of words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Provides an iterator over the words in alphabetical order.
+     * @return an iterator for the dictionary
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new Iterator<Word>() {
+            Cursor c = new Cursor(restarts.length == 0 ? 0 : restarts[0]);
+            int returned = 0;
+
+            public boolean hasNext() {
+                return returned < size;
+            }
+
+            public Word next() {
+                if (returned >= size)
+                    return null;
+                returned++;
+                String word = c.nextWord();
+                return new Word(word, c.readVInt());
+            }
+        };
+    }
+
+    // Returns the full word stored at a restart point
+    private String firstWord(int block) {
+        if (firstWords[block] == null)
+            firstWords[block] = new Cursor(restarts[block]).nextWord();
+        return firstWords[block];
+    }
+
+    // Maps a file into memory for reading
+    private static ByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Sequential decoder of entries starting at a given offset.
+     */
+    private class Cursor {
+        int offset;                 // position of the next byte to read
+        byte[] previous = new byte[32]; // bytes of the last decoded word
+        int previousLength;         // number of bytes used in previous
+
+        Cursor(int offset) {
+            this.offset = offset;
+        }
+
+        // Decodes the word of the next entry, leaving the cursor at its count
+        String nextWord() {
+            int shared = readVInt();
+            int suffix = readVInt();
+            if (shared + suffix > previous.length)
+                previous = Arrays.copyOf(previous, Math.max(previous.length * 2, shared + suffix));
+            for (int i = 0; i < suffix; i++)
+                previous[shared + i] = data.get(offset + i);
+            offset += suffix;
+            previousLength = shared + suffix;
+            return new String(previous, 0, previousLength, StandardCharsets.UTF_8);
+        }
+
+        // Decodes the next entry and returns its count
+        int nextCount() {
+            nextWord();
+            return readVInt();
+        }
+
+        // Reads one variable-byte encoded int
+        int readVInt() {
+            int value = VarInt.read(data, offset);
+            offset += VarInt.size(value);
+            return value;
+        }
+    }
+}
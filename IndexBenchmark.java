@@ -0,0 +1,77 @@
+package project5;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * The IndexBenchmark program compares the performance of the Index implementations on
+ * the same input file. Each implementation is run through FrequentWords.runTest, and its
+ * final contents are checked against the BSTIndex result.
+ *
+ * Usage: java IndexBenchmark inputFile cutOffValue
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class IndexBenchmark {
+
+    /*
+     * @param args command line arguments as described above
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.printf("\nERROR : missing parameters. \n\n");
+            System.exit(1);
+        }
+        int minCount = Integer.valueOf(args[1]);
+
+        ArrayList<String> allWords = null;
+        try {
+            allWords = new FileParser(args[0]).getAllWords();
+        } catch (IOException e) {
+            System.err.println("ERROR: problem encountered reading file:");
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("INFO: %d words read. \n", allWords.size());
+
+        // the recursive BST is the reference against which the others are compared
+        Index reference = new BSTIndex<String>();
+        run("Recursive BST", reference, allWords, minCount, null);
+
+        run("Sorted Linked List", new SortedLinkedList<String>(), allWords, minCount, reference);
+        run("Splay Tree", new SplayIndex(), allWords, minCount, reference);
+        run("Adaptive Index", new AdaptiveIndex(), allWords, minCount, reference);
+        run("Cached Recursive BST", new CachedIndex(new BSTIndex<String>()), allWords, minCount, reference);
+    }
+
+    /**
+     * Runs FrequentWords.runTest on one index and verifies the result.
+     *
+     * @param name      name of the data structure printed before the statistics
+     * @param index     empty index to be populated
+     * @param allWords  list of all the words
+     * @param minCount  smallest count of words that remain after pruning
+     * @param reference index with the expected contents, or null to skip verification
+     */
+    private static void run(String name, Index index, ArrayList<String> allWords,
+                            int minCount, Index reference) {
+        System.out.printf("\n=== %s ===", name);
+        FrequentWords.runTest(index, allWords, System.out, minCount);
+        if (reference != null && !sameContents(index, reference))
+            System.out.printf("ERROR: %s differs from Recursive BST\n", name);
+    }
+
+    // Compares two indexes word by word, without relying on either equals implementation
+    private static boolean sameContents(Index a, Index b) {
+        if (a.size() != b.size())
+            return false;
+        Iterator<Word> itr1 = a.iterator();
+        Iterator<Word> itr2 = b.iterator();
+        while (itr1.hasNext() && itr2.hasNext())
+            if (!itr1.next().equals(itr2.next()))
+                return false;
+        return !itr1.hasNext() && !itr2.hasNext();
+    }
+}
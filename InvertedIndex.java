@@ -0,0 +1,315 @@
+package project5;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * This class represents an inverted index over a corpus of documents. For every word it
+ * stores a postings list of (document id, term frequency) pairs. Document ids are stored as
+ * differences from the previous id, and both numbers are written in variable-byte form
+ * (seven bits per byte), so a posting usually takes two bytes instead of a Word object.
+ * Every SKIP_INTERVAL postings a skip entry is recorded so that intersections can jump over
+ * runs of documents that cannot match.
+ *
+ * Documents are tokenized by FileParser and receive consecutive ids starting at 0. The total
+ * count of each word across the corpus is kept in a BSTIndex, which also provides the
+ * vocabulary in alphabetical order.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class InvertedIndex {
+
+    /** Value returned by a postings cursor once it is exhausted. */
+    public static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    // Number of postings between consecutive skip entries
+    private static final int SKIP_INTERVAL = 64;
+
+    // Shared postings list used for words that do not occur in the corpus
+    private static final PostingsList EMPTY = new PostingsList();
+
+    private final HashMap<String, PostingsList> postings = new HashMap<String, PostingsList>();
+    private final BSTIndex<String> vocabulary = new BSTIndex<String>();
+    private int documentCount;
+
+    /**
+     * Constructs an empty inverted index.
+     */
+    public InvertedIndex() {
+    }
+
+    /**
+     * Parses a file with FileParser and adds its words as a new document.
+     *
+     * @param fileName name of the file to be added
+     * @return the id assigned to the document
+     * @throws IOException if the file cannot be opened for reading
+     */
+    public int addFile(String fileName) throws IOException {
+        return addDocument(new FileParser(fileName).getAllWords());
+    }
+
+    /**
+     * Adds a list of words as a new document.
+     *
+     * @param words all words of the document, in any order
+     * @return the id assigned to the document
+     * @throws NullPointerException if words or any of its elements is null
+     */
+    public int addDocument(Collection<String> words) {
+        if (words == null)
+            throw new NullPointerException("Document cannot be null!");
+        int docId = documentCount;
+        ArrayList<Word> batch = Word.aggregate(words);
+        for (Word w : batch) {
+            PostingsList list = postings.get(w.getWord());
+            if (list == null) {
+                list = new PostingsList();
+                postings.put(w.getWord(), list);
+            }
+            list.append(docId, w.getCount());
+        }
+        // the batch is already sorted and collapsed, so it is not aggregated a second time
+        vocabulary.addAggregated(batch);
+        documentCount++;
+        return docId;
+    }
+
+    /**
+     * Returns the number of documents in the corpus.
+     * @return number of documents
+     */
+    public int documentCount() {
+        return documentCount;
+    }
+
+    /**
+     * Returns the number of documents that contain the word.
+     * @param word the word to look up
+     * @return number of documents containing the word, 0 if it does not occur
+     */
+    public int documentFrequency(String word) {
+        PostingsList list = postings.get(word);
+        return list == null ? 0 : list.docFreq;
+    }
+
+    /**
+     * Returns the number of times the word occurs in the whole corpus.
+     * @param word the word to look up
+     * @return the count of the word, or -1 if it does not occur
+     */
+    public int collectionFrequency(String word) {
+        return vocabulary.get(word);
+    }
+
+    /**
+     * Returns the number of times the word occurs in a document.
+     * @param word the word to look up
+     * @param docId id of the document
+     * @return the term frequency, 0 if the word does not occur in the document
+     */
+    public int termFrequency(String word, int docId) {
+        Postings p = postings(word);
+        return p.advance(docId) == docId ? p.tf() : 0;
+    }
+
+    /**
+     * Returns the vocabulary of the corpus in alphabetical order together with the
+     * number of times each word occurs in the corpus.
+     * @return the vocabulary index
+     */
+    public Iterable<Word> vocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * Returns a cursor over the postings of a word. The cursor is positioned before the
+     * first posting.
+     * @param word the word to look up
+     * @return cursor over the postings, empty if the word does not occur
+     */
+    public Postings postings(String word) {
+        PostingsList list = postings.get(word);
+        return new Postings(list == null ? EMPTY : list);
+    }
+
+    /**
+     * Returns the ids of documents that contain all of the words, in increasing order.
+     * The postings are intersected starting with the rarest word, and the remaining
+     * cursors skip forward to each candidate.
+     * @param words the words that must all occur
+     * @return ids of the matching documents
+     */
+    public int[] and(String... words) {
+        if (words.length == 0)
+            return new int[0];
+        Postings[] cursors = new Postings[words.length];
+        for (int i = 0; i < words.length; i++)
+            cursors[i] = postings(words[i]);
+        Arrays.sort(cursors, new Comparator<Postings>() {
+            public int compare(Postings a, Postings b) {
+                return Integer.compare(a.list.docFreq, b.list.docFreq);
+            }
+        });
+
+        int[] result = new int[cursors[0].list.docFreq];
+        int found = 0;
+        int candidate = cursors[0].nextDoc();
+        while (candidate != NO_MORE_DOCS) {
+            int i = 1;
+            for (; i < cursors.length; i++) {
+                int doc = cursors[i].advance(candidate);
+                if (doc != candidate) {
+                    // the candidate is missing from this list; restart at its next document
+                    candidate = cursors[0].advance(doc);
+                    break;
+                }
+            }
+            if (i == cursors.length) {
+                result[found++] = candidate;
+                candidate = cursors[0].nextDoc();
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Returns the ids of documents that contain at least one of the words, in increasing order.
+     * @param words the words of which at least one must occur
+     * @return ids of the matching documents
+     */
+    public int[] or(String... words) {
+        // merge the lists with a heap of cursors ordered by their current document
+        PriorityQueue<Postings> heap = new PriorityQueue<Postings>(Math.max(1, words.length),
+            new Comparator<Postings>() {
+                public int compare(Postings a, Postings b) {
+                    return Integer.compare(a.docId(), b.docId());
+                }
+            });
+        int bound = 0;
+        for (String w : words) {
+            Postings p = postings(w);
+            bound += p.list.docFreq;
+            if (p.nextDoc() != NO_MORE_DOCS)
+                heap.add(p);
+        }
+        int[] result = new int[Math.min(bound, documentCount)];
+        int found = 0;
+        while (!heap.isEmpty()) {
+            Postings p = heap.poll();
+            if (found == 0 || result[found - 1] != p.docId())
+                result[found++] = p.docId();
+            if (p.nextDoc() != NO_MORE_DOCS)
+                heap.add(p);
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * A growable, variable-byte encoded postings list of one word.
+     */
+    private static final class PostingsList {
+        byte[] data = new byte[8]; // encoded (docId delta, tf) pairs
+        int length;                // number of bytes used in data
+        int docFreq;               // number of postings
+        int lastDocId = -1;        // id of the last document appended
+
+        int[] skipDocs = new int[0];    // last docId before each skip point
+        int[] skipOffsets = new int[0]; // byte offset of each skip point
+
+        // Appends a posting; docId must be larger than any id appended before
+        void append(int docId, int tf) {
+            if (docFreq > 0 && docFreq % SKIP_INTERVAL == 0) {
+                int k = docFreq / SKIP_INTERVAL - 1;
+                if (k == skipDocs.length) {
+                    skipDocs = Arrays.copyOf(skipDocs, Math.max(4, k * 2));
+                    skipOffsets = Arrays.copyOf(skipOffsets, Math.max(4, k * 2));
+                }
+                skipDocs[k] = lastDocId;
+                skipOffsets[k] = length;
+            }
+            if (length + 10 > data.length)
+                data = Arrays.copyOf(data, data.length * 2);
+            length = VarInt.write(data, length, docId - lastDocId);
+            length = VarInt.write(data, length, tf);
+            lastDocId = docId;
+            docFreq++;
+        }
+
+        // Number of skip entries in use
+        int skipCount() {
+            return docFreq == 0 ? 0 : (docFreq - 1) / SKIP_INTERVAL;
+        }
+    }
+
+    /**
+     * A forward-only cursor over the postings of one word.
+     */
+    public static final class Postings {
+        private final PostingsList list;
+        private int offset;     // byte offset of the next posting
+        private int index;      // number of postings decoded so far
+        private int docId = -1; // current document, -1 before the first call to nextDoc
+        private int tf;
+
+        private Postings(PostingsList list) {
+            this.list = list;
+        }
+
+        /**
+         * Moves to the next posting.
+         * @return the id of the next document, or NO_MORE_DOCS if there is none
+         */
+        public int nextDoc() {
+            if (index >= list.docFreq)
+                return docId = NO_MORE_DOCS;
+            docId += readVInt();
+            tf = readVInt();
+            index++;
+            return docId;
+        }
+
+        /**
+         * Moves to the first posting whose document id is at least target, using the skip
+         * entries to avoid decoding postings that are certainly smaller.
+         * @param target the smallest acceptable document id
+         * @return the id of the document reached, or NO_MORE_DOCS if there is none
+         */
+        public int advance(int target) {
+            if (docId >= target)
+                return docId;
+            // find the last skip entry that starts before target and is ahead of the cursor
+            int k = Arrays.binarySearch(list.skipDocs, 0, list.skipCount(), target);
+            k = (k >= 0 ? k : -k - 1) - 1;
+            if (k >= 0 && (k + 1) * SKIP_INTERVAL > index) {
+                docId = list.skipDocs[k];
+                offset = list.skipOffsets[k];
+                index = (k + 1) * SKIP_INTERVAL;
+            }
+            while (docId < target)
+                nextDoc();
+            return docId;
+        }
+
+        /**
+         * @return the current document id, NO_MORE_DOCS at the end, or -1 before the start
+         */
+        public int docId() {
+            return docId;
+        }
+
+        /**
+         * @return the number of times the word occurs in the current document
+         */
+        public int tf() {
+            return tf;
+        }
+
+        // Reads one variable-byte encoded int
+        private int readVInt() {
+            int value = VarInt.read(list.data, offset);
+            offset += VarInt.size(value);
+            return value;
+        }
+    }
+}
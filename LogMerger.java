@@ -0,0 +1,241 @@
+package project3;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * This merges several log files that are each sorted by time, for example one per host or
+ * one per rotation, into a single stream of records in time order.
+ * Every file is parsed by its own thread, which hands the records over in batches through
+ * a bounded queue, so at most a few batches per file are read ahead of the merge. The merge
+ * keeps the next record of every file in a heap and always emits the oldest one; records
+ * with equal times are emitted in the order of the files in the list.
+ * The merge needs the next record of every file at once, so every file it reads is parsed
+ * at the same time. At most MAX_PARSERS files are merged directly; more files, such as
+ * many rotations, are merged in groups of MAX_PARSERS into temporary log files, which are
+ * then merged in turn. The number of parser threads and of buffered batches is therefore
+ * bounded however many files there are.
+ * author Vedant Desai
+ */
+public class LogMerger {
+
+    private static final int BATCH_SIZE = 1024;     // records handed over at once
+    private static final int BATCHES_AHEAD = 4;     // batches a parser may read ahead per file
+    private static final int MAX_PARSERS = 16;      // files parsed at the same time
+    private static final Record[] END = new Record[0]; // marks the end of a file
+
+    /**
+     * Merges the files and collects the records in time order.
+     *
+     * @param filePaths The paths to the log files.
+     * @return All records of the files in time order.
+     * @throws IOException If a file cannot be read.
+     * @throws IllegalArgumentException If a file is malformed or not sorted by time.
+     */
+    public static ArrayList<Record> readAll(List<String> filePaths) throws IOException {
+        ArrayList<Record> records = new ArrayList<>();
+        merge(filePaths, records::add);
+        return records;
+    }
+
+    /**
+     * Merges the files and passes the records to the sink in time order.
+     *
+     * @param filePaths The paths to the log files.
+     * @param sink      Receives the records, for example RecordList::addRecord or SessionBuilder::accept.
+     * @throws IOException If a file cannot be read, or a temporary file cannot be written.
+     * @throws IllegalArgumentException If a file is malformed or not sorted by time.
+     */
+    public static void merge(List<String> filePaths, Consumer<Record> sink) throws IOException {
+        if (filePaths.size() <= MAX_PARSERS) {
+            mergeGroup(filePaths, sink);
+            return;
+        }
+        ArrayList<File> groups = new ArrayList<>();
+        try {
+            ArrayList<String> groupPaths = new ArrayList<>();
+            for (int from = 0; from < filePaths.size(); from += MAX_PARSERS) {
+                File group = File.createTempFile("logmerge", ".log");
+                groups.add(group);
+                groupPaths.add(group.getPath());
+                try (PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                         new FileOutputStream(group), StandardCharsets.UTF_8), false)) {
+                    mergeGroup(filePaths.subList(from, Math.min(from + MAX_PARSERS, filePaths.size())),
+                               record -> writeLine(out, record));
+                    if (out.checkError()) {
+                        throw new IOException("Could not write temporary file " + group.getPath());
+                    }
+                }
+            }
+            // the groups keep the order of the files, so equal times still come out in file order
+            merge(groupPaths, sink);
+        } finally {
+            for (File group : groups) {
+                group.delete();
+            }
+        }
+    }
+
+    // Writes a record in the log file format
+    private static void writeLine(PrintWriter out, Record record) {
+        out.print(record.getTerminal());
+        out.print(' ');
+        out.print(record.getTimeMillis());
+        out.print(' ');
+        out.print(record.getUsername());
+        out.print(record.isLogin() ? " login\n" : " logout\n");
+    }
+
+    // Merges at most MAX_PARSERS files, each parsed by its own thread
+    private static void mergeGroup(List<String> filePaths, Consumer<Record> sink) throws IOException {
+        ArrayList<Source> sources = new ArrayList<>();
+        try {
+            for (int i = 0; i < filePaths.size(); i++) {
+                Source source = new Source(filePaths.get(i), i);
+                sources.add(source);
+                source.start();
+            }
+            PriorityQueue<Source> heap = new PriorityQueue<>();
+            for (Source source : sources) {
+                if (source.advance()) {
+                    heap.add(source);
+                }
+            }
+            while (!heap.isEmpty()) {
+                Source oldest = heap.poll();
+                sink.accept(oldest.current);
+                if (oldest.advance()) {
+                    heap.add(oldest);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while merging log files.");
+        } finally {
+            for (Source source : sources) {
+                source.parser.interrupt();
+            }
+        }
+    }
+
+    /* One log file: the thread parsing it and the position of the merge in its records. */
+    private static final class Source implements Comparable<Source> {
+        final String filePath;
+        final int order;  // position of the file in the list, breaks ties
+        final Thread parser;
+        final ArrayBlockingQueue<Record[]> batches = new ArrayBlockingQueue<>(BATCHES_AHEAD);
+        volatile Exception failure;  // what stopped the parser thread, reported by advance
+        volatile boolean complete;   // true once the parser has handed over the whole file
+
+        Record[] batch = new Record[0];
+        int next;
+        Record current;
+
+        Source(String filePath, int order) {
+            this.filePath = filePath;
+            this.order = order;
+            this.parser = new Thread(this::parse, "LogMerger-" + order);
+            this.parser.setDaemon(true);
+        }
+
+        void start() {
+            parser.start();
+        }
+
+        // Runs on the parser thread
+        private void parse() {
+            ArrayList<Record> pending = new ArrayList<>(BATCH_SIZE);
+            LoginLogParser logParser = new LoginLogParser();
+            UsernameDictionary usernames = logParser.getUsernames();
+            try {
+                logParser.parse(filePath, (terminal, timeMillis, userId, login) -> {
+                    pending.add(new Record(terminal, login, usernames.nameOf(userId), timeMillis));
+                    if (pending.size() == BATCH_SIZE) {
+                        hand(pending);
+                    }
+                });
+                hand(pending);
+                complete = true;
+            } catch (Stopped e) {
+                Thread.currentThread().interrupt(); // the merge has ended; do not wait to put END
+            } catch (Exception e) {
+                failure = e;
+            } finally {
+                // also after an Error, which goes on to the thread's uncaught exception
+                // handler; without END the merge would wait forever
+                try {
+                    batches.put(END);
+                } catch (InterruptedException e) {
+                    // the merge has ended
+                }
+            }
+        }
+
+        // Passes the pending records to the merge, waiting while it is BATCHES_AHEAD behind
+        private void hand(ArrayList<Record> pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                batches.put(pending.toArray(new Record[0]));
+            } catch (InterruptedException e) {
+                throw new Stopped();
+            }
+            pending.clear();
+        }
+
+        /**
+         * Moves to the next record of the file.
+         *
+         * @return False at the end of the file.
+         */
+        boolean advance() throws IOException, InterruptedException {
+            if (next == batch.length) {
+                batch = batches.take();
+                next = 0;
+                if (batch == END) {
+                    if (failure instanceof IOException) {
+                        throw (IOException) failure;
+                    }
+                    if (failure instanceof RuntimeException) {
+                        throw (RuntimeException) failure;
+                    }
+                    if (!complete) {
+                        throw new IOException("Parsing stopped before the end of " + filePath, failure);
+                    }
+                    return false;
+                }
+            }
+            Record record = batch[next++];
+            if (current != null && record.getTimeMillis() < current.getTimeMillis()) {
+                throw new IllegalArgumentException("Log file is not sorted by time: " + filePath);
+            }
+            current = record;
+            return true;
+        }
+
+        @Override
+        public int compareTo(Source other) {
+            int c = Long.compare(current.getTimeMillis(), other.current.getTimeMillis());
+            return c != 0 ? c : Integer.compare(order, other.order);
+        }
+    }
+
+    /* Stops a parser thread whose merge has ended. */
+    private static final class Stopped extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Stopped() {
+            super(null, null, false, false);
+        }
+    }
+}
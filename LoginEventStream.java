@@ -0,0 +1,277 @@
+package project3;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+
+/**
+ * This ingests login/logout events one at a time, for example from a log file that is
+ * still being written or from a socket, and keeps the record list, the sessions and
+ * per-user totals up to date as events arrive.
+ *
+ * Events may arrive out of order by up to a configurable watermark delay. They are held
+ * in a buffer ordered by time and released once the newest time seen is more than the
+ * delay past them, so released events are always in time order. Events older than the
+ * last released time are late beyond the tolerance; they are counted and dropped.
+ * All queries describe the released events and are answered without any rebuild.
+ * The methods are synchronized, so one thread can ingest while another queries.
+ * author Vedant Desai
+ */
+public class LoginEventStream {
+
+    private final long watermarkDelay;  // how far out of order events may arrive, in milliseconds
+    private final PriorityQueue<Pending> pending = new PriorityQueue<>(); // events not yet released
+    private long arrivals;                       // number of events buffered so far, breaks ties
+    private long maxSeenTime = Long.MIN_VALUE;   // newest event time seen so far
+    private long releasedTime = Long.MIN_VALUE;  // time of the last released event
+    private int lateEvents;                      // events dropped for arriving too late
+    private int rejectedLines;                   // malformed lines skipped by ingest and follow
+
+    private final RecordList recordList = new RecordList();
+    private final SessionBuilder sessionBuilder = new SessionBuilder();
+    private final ArrayList<Session> closedSessions = new ArrayList<>(); // sessions closed by the last event
+    private final UserRankings rankings = new UserRankings();
+    private final DurationStatistics durations = new DurationStatistics();
+
+    private final LoginLogParser parser = new LoginLogParser();
+
+    /**
+     * Creates a stream that tolerates events arriving up to watermarkDelay milliseconds late.
+     *
+     * @param watermarkDelay The allowed lateness in milliseconds.
+     * @throws IllegalArgumentException if the delay is negative.
+     */
+    public LoginEventStream(long watermarkDelay) {
+        if (watermarkDelay < 0) {
+            throw new IllegalArgumentException("Watermark delay cannot be negative.");
+        }
+        this.watermarkDelay = watermarkDelay;
+    }
+
+    /**
+     * Accepts one event.
+     *
+     * @param record The event.
+     */
+    public synchronized void accept(Record record) {
+        long time = record.getTimeMillis();
+        if (time < releasedTime) {
+            lateEvents++;
+            return;
+        }
+        pending.add(new Pending(record, arrivals++));
+        maxSeenTime = Math.max(maxSeenTime, time);
+        while (!pending.isEmpty() && pending.peek().record.getTimeMillis() <= maxSeenTime - watermarkDelay) {
+            release(pending.poll().record);
+        }
+    }
+
+    /**
+     * Parses one line in the log file format and accepts the event it describes.
+     *
+     * @param line The line.
+     * @throws IllegalArgumentException If the line is malformed.
+     */
+    public void accept(String line) {
+        Record record;
+        synchronized (this) {
+            record = parser.parseRecord(line);
+        }
+        if (record != null) {
+            accept(record);
+        }
+    }
+
+    /**
+     * Releases every buffered event, for example when the input has ended.
+     */
+    public synchronized void flush() {
+        while (!pending.isEmpty()) {
+            release(pending.poll().record);
+        }
+    }
+
+    /**
+     * Reads lines from a reader until it ends and accepts each of them, then flushes.
+     * Can be used with the input stream of a socket. Malformed lines are counted and
+     * skipped.
+     *
+     * @param reader The source of the lines.
+     * @throws IOException If reading fails.
+     */
+    public void ingest(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            acceptOrReject(line);
+        }
+        flush();
+    }
+
+    /**
+     * Follows a file that is still being written, like tail -f: reads complete lines as
+     * they are appended and waits pollMillis whenever the end of the file is reached.
+     * Malformed lines are counted and skipped. Runs until the thread is interrupted.
+     *
+     * @param filePath   The path to the file.
+     * @param pollMillis How long to wait at the end of the file.
+     * @throws IOException If reading fails.
+     */
+    public void follow(String filePath, long pollMillis) throws IOException {
+        try (Reader reader = new BufferedReader(new FileReader(filePath))) {
+            StringBuilder line = new StringBuilder();
+            while (!Thread.currentThread().isInterrupted()) {
+                int c = reader.read();
+                if (c == -1) {
+                    try {
+                        Thread.sleep(pollMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else if (c == '\n') {
+                    acceptOrReject(line.toString());
+                    line.setLength(0);
+                } else {
+                    line.append((char) c);
+                }
+            }
+        }
+    }
+
+    /**
+     * This Calculates the total time of the specified user's completed sessions among
+     * the released events.
+     *
+     * @param user The user.
+     * @return The total login time of the user in milliseconds.
+     */
+    public synchronized long getTotalTime(String user) {
+        return recordList.getTotalTime(user);
+    }
+
+    /**
+     * @return The number of sessions currently active among the released events.
+     */
+    public synchronized int getActiveSessionCount() {
+        return sessionBuilder.getActiveSessionCount();
+    }
+
+    /**
+     * @return The sessions of the released events in login order, including active ones.
+     */
+    public synchronized ArrayList<Session> getSessions() {
+        return sessionBuilder.getSessions();
+    }
+
+    /**
+     * @return The number of events dropped because they arrived later than the watermark allows.
+     */
+    public synchronized int getLateEventCount() {
+        return lateEvents;
+    }
+
+    /**
+     * @return The number of malformed lines that ingest and follow skipped.
+     */
+    public synchronized int getRejectedLineCount() {
+        return rejectedLines;
+    }
+
+    /**
+     * @return The number of events waiting for the watermark to pass them.
+     */
+    public synchronized int getPendingEventCount() {
+        return pending.size();
+    }
+
+    /**
+     * @param n The number of users to return.
+     * @return Up to n users with the largest total time among the released events.
+     */
+    public synchronized ArrayList<UserRankings.Ranking> getTopUsersByTotalTime(int n) {
+        return rankings.topByTotalTime(n);
+    }
+
+    /**
+     * @param n The number of users to return.
+     * @return Up to n users with the most sessions among the released events.
+     */
+    public synchronized ArrayList<UserRankings.Ranking> getTopUsersBySessionCount(int n) {
+        return rankings.topBySessionCount(n);
+    }
+
+    /**
+     * @param n The number of users to return.
+     * @return Up to n users with the longest completed session among the released events.
+     */
+    public synchronized ArrayList<UserRankings.Ranking> getTopUsersByLongestSession(int n) {
+        return rankings.topByLongestSession(n);
+    }
+
+    /**
+     * @return A copy of the duration percentile sketches of the sessions completed so far.
+     */
+    public synchronized DurationStatistics getDurationStatistics() {
+        DurationStatistics copy = new DurationStatistics();
+        copy.merge(durations);
+        return copy;
+    }
+
+    /**
+     * Gives access to the list of released records. Callers must synchronize on this
+     * stream while using the list if ingestion is running on another thread.
+     *
+     * @return The record list.
+     */
+    public RecordList getRecordList() {
+        return recordList;
+    }
+
+    // Accepts a line read by ingest or follow; one bad line must not stop the input
+    private void acceptOrReject(String line) {
+        try {
+            accept(line);
+        } catch (IllegalArgumentException e) {
+            synchronized (this) {
+                rejectedLines++;
+            }
+        }
+    }
+
+    // Applies an event that is known to be in time order
+    private void release(Record record) {
+        releasedTime = record.getTimeMillis();
+        recordList.addRecord(record);
+        sessionBuilder.accept(record, closedSessions);
+
+        if (record.isLogin()) {
+            rankings.sessionStarted(record.getUsername());
+        }
+        for (Session session : closedSessions) {
+            long duration = record.getTimeMillis() - session.getLoginRecord().getTimeMillis();
+            rankings.sessionEnded(record.getUsername(), duration);
+            durations.add(record.getUsername(), record.getTerminal(), duration);
+        }
+        closedSessions.clear();
+    }
+
+    /* A buffered event; events with equal times keep their arrival order. */
+    private static final class Pending implements Comparable<Pending> {
+        final Record record;
+        final long arrival;
+
+        Pending(Record record, long arrival) {
+            this.record = record;
+            this.arrival = arrival;
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            int c = Long.compare(record.getTimeMillis(), other.record.getTimeMillis());
+            return c != 0 ? c : Long.compare(arrival, other.arrival);
+        }
+    }
+}
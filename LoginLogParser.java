@@ -0,0 +1,248 @@
+package project3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * This parses login log files by memory-mapping them and decoding every line directly
+ * from its bytes. Each line holds a terminal number, a time in milliseconds, a username
+ * and the word login or logout, separated by spaces. Numbers are accumulated digit by
+ * digit and usernames are interned through a UsernameDictionary, so no strings, arrays
+ * or Date objects are created per field; the event type is decided from the fourth field
+ * only, so a username that contains "login" does not affect it.
+ * author Vedant Desai
+ */
+public class LoginLogParser {
+
+    // Largest part of the file mapped at once
+    private static final int WINDOW = 1 << 30;
+
+    /**
+     * Receives the decoded fields of each record.
+     */
+    public interface RecordHandler {
+        /**
+         * Called once per line of the log.
+         *
+         * @param terminal   Terminal number.
+         * @param timeMillis Time of the event in milliseconds.
+         * @param userId     Id of the username in the parser's dictionary.
+         * @param login      True for a login, false for a logout.
+         */
+        void record(int terminal, long timeMillis, int userId, boolean login);
+    }
+
+    private final UsernameDictionary usernames;
+
+    /**
+     * Creates a parser with its own username dictionary.
+     */
+    public LoginLogParser() {
+        this(new UsernameDictionary());
+    }
+
+    /**
+     * Creates a parser that interns usernames into the given dictionary.
+     *
+     * @param usernames The dictionary to use.
+     */
+    public LoginLogParser(UsernameDictionary usernames) {
+        this.usernames = usernames;
+    }
+
+    /**
+     * @return The dictionary holding every username seen so far.
+     */
+    public UsernameDictionary getUsernames() {
+        return usernames;
+    }
+
+    /**
+     * Parses a log file and creates one Record per line.
+     *
+     * @param filePath The path to the log file.
+     * @return The records in file order.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If a line is malformed.
+     */
+    public ArrayList<Record> readRecords(String filePath) throws IOException {
+        ArrayList<Record> records = new ArrayList<>();
+        parse(filePath, (terminal, timeMillis, userId, login) ->
+            records.add(new Record(terminal, login, usernames.nameOf(userId), timeMillis)));
+        return records;
+    }
+
+    /**
+     * Parses a single line of a log, for example one received from a stream.
+     *
+     * @param line The line, without its line terminator.
+     * @return The record, or null if the line is blank.
+     * @throws IllegalArgumentException If the line is malformed.
+     */
+    public Record parseRecord(String line) {
+        Record[] parsed = new Record[1];
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        parseLine(ByteBuffer.wrap(bytes), 0, bytes.length, (terminal, timeMillis, userId, login) ->
+            parsed[0] = new Record(terminal, login, usernames.nameOf(userId), timeMillis));
+        return parsed[0];
+    }
+
+    /**
+     * Parses a log file and passes the fields of every line to the handler.
+     *
+     * @param filePath The path to the log file.
+     * @param handler  Receives the decoded fields.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If a line is malformed.
+     */
+    public void parse(String filePath, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long position = 0;
+            while (position < fileSize) {
+                int length = (int) Math.min(WINDOW, fileSize - position);
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean last = position + length == fileSize;
+                int consumed = parseLines(buffer, length, last, handler);
+                if (consumed == 0) {
+                    throw new IllegalArgumentException("Line longer than " + WINDOW + " bytes.");
+                }
+                position += consumed;
+            }
+        }
+    }
+
+    /**
+     * Parses the complete lines in buffer[0, length). The final line is only parsed if
+     * it ends with a newline or if this is the end of the file.
+     *
+     * @return The number of bytes consumed.
+     */
+    private int parseLines(ByteBuffer buffer, int length, boolean last, RecordHandler handler) {
+        int pos = 0;
+        while (pos < length) {
+            int end = pos;
+            while (end < length && buffer.get(end) != '\n') {
+                end++;
+            }
+            if (end == length && !last) {
+                return pos; // incomplete line; continue in the next window
+            }
+            parseLine(buffer, pos, end, handler);
+            pos = end + 1;
+        }
+        return length;
+    }
+
+    // Decodes one line from buffer[start, end)
+    private void parseLine(ByteBuffer buffer, int start, int end, RecordHandler handler) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        int pos = skipSpaces(buffer, start, end);
+        if (pos == end) {
+            return; // blank line
+        }
+
+        // terminal
+        int terminalStart = pos;
+        int terminal = 0;
+        try {
+            while (pos < end && isDigit(buffer.get(pos))) {
+                terminal = Math.addExact(Math.multiplyExact(terminal, 10), buffer.get(pos++) - '0');
+            }
+        } catch (ArithmeticException e) {
+            throw malformed(buffer, start, end); // does not fit in an int
+        }
+        if (pos == terminalStart) {
+            throw malformed(buffer, start, end);
+        }
+
+        // time
+        pos = skipSpaces(buffer, pos, end);
+        int timeStart = pos;
+        long time = 0;
+        try {
+            while (pos < end && isDigit(buffer.get(pos))) {
+                time = Math.addExact(Math.multiplyExact(time, 10), buffer.get(pos++) - '0');
+            }
+        } catch (ArithmeticException e) {
+            throw malformed(buffer, start, end); // does not fit in a long
+        }
+        if (pos == timeStart) {
+            throw malformed(buffer, start, end);
+        }
+
+        // username
+        pos = skipSpaces(buffer, pos, end);
+        int nameStart = pos;
+        while (pos < end && !isSpace(buffer.get(pos))) {
+            pos++;
+        }
+        if (pos == nameStart) {
+            throw malformed(buffer, start, end);
+        }
+        int userId = usernames.intern(buffer, nameStart, pos - nameStart);
+
+        // event type
+        pos = skipSpaces(buffer, pos, end);
+        int typeEnd = pos;
+        while (typeEnd < end && !isSpace(buffer.get(typeEnd))) {
+            typeEnd++;
+        }
+        boolean login;
+        if (equalsAscii(buffer, pos, typeEnd, "login")) {
+            login = true;
+        } else if (equalsAscii(buffer, pos, typeEnd, "logout")) {
+            login = false;
+        } else {
+            throw malformed(buffer, start, end);
+        }
+        if (skipSpaces(buffer, typeEnd, end) != end) {
+            throw malformed(buffer, start, end); // extra fields
+        }
+
+        handler.record(terminal, time, userId, login);
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int pos, int end) {
+        while (pos < end && isSpace(buffer.get(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean equalsAscii(ByteBuffer buffer, int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (buffer.get(start + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Builds the exception for a malformed line; only called on the error path
+    private static IllegalArgumentException malformed(ByteBuffer buffer, int start, int end) {
+        byte[] line = new byte[end - start];
+        for (int i = 0; i < line.length; i++) {
+            line[i] = buffer.get(start + i);
+        }
+        return new IllegalArgumentException("Malformed record: " + new String(line));
+    }
+}
@@ -1,10 +1,15 @@
 package project3;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
-import java.util.Date;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -16,14 +21,33 @@ import java.util.Scanner;
 public class LoginStats {
 
     private RecordList recordList = new RecordList();  // List to store login/logout records
-    private SortedLinkedList<Session> sessions = new SortedLinkedList<>();  // List to store session details
+    private ArrayList<Session> sessions = new ArrayList<>();  // List to store session details, in login order
+
+    private static final String SNAPSHOT_SUFFIX = ".snapshot"; // appended to the log path for the snapshot file
     
     /**
      * Entry point for the LoginStats program.
+     * Without arguments the program asks for a data file and loads it once. With
+     * "-follow file [watermarkMillis]" it follows a log file that is still being written,
+     * and with "-listen port [watermarkMillis]" it reads events from a local socket.
+     * With "-merge file1 file2 ..." it loads several log files that are each sorted by time.
      *
-     * @param args Command line arguments (unused in this context).
+     * @param args Command line arguments as described above.
      */
     public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("-merge")) {
+            runMerged(Arrays.asList(args).subList(1, args.length));
+            return;
+        }
+        if (args.length >= 2 && (args[0].equals("-follow") || args[0].equals("-listen"))) {
+            runStreaming(args);
+            return;
+        }
+        if (args.length > 0) {
+            System.out.println("Usage: LoginStats [-follow file [watermarkMillis] | -listen port [watermarkMillis]"
+                    + " | -merge file1 file2 ...]");
+            return;
+        }
         LoginStats loginStats = new LoginStats();
         Scanner scanner = new Scanner(System.in);
 
@@ -31,8 +55,22 @@ public class LoginStats {
         String filePath = scanner.nextLine();
 
         try {
-            loginStats.loadRecordsFromFile(filePath);
-            loginStats.processRecords();
+            File snapshotFile = new File(filePath + SNAPSHOT_SUFFIX);
+            boolean loaded = false;
+            if (RecordSnapshot.isCurrent(snapshotFile, new File(filePath))) {
+                try {
+                    loginStats.loadSnapshot(snapshotFile);
+                    loaded = true;
+                } catch (IOException e) {
+                    // a damaged snapshot is replaced by loading the log file again
+                    System.out.println("Could not read snapshot: " + e.getMessage());
+                }
+            }
+            if (!loaded) {
+                loginStats.loadRecordsFromFile(filePath);
+                loginStats.processRecords();
+                loginStats.saveSnapshot(snapshotFile, filePath);
+            }
             loginStats.displayMenu(scanner);
 
         } catch (IOException e) {
@@ -46,45 +84,174 @@ public class LoginStats {
         }
     }
 
+    /**
+     * Runs the program on several log files that are each sorted by time. The files are
+     * merged into time order while they are parsed, and every record is appended to the
+     * record list and passed to the session builder as it comes out of the merge.
+     *
+     * @param filePaths The paths to the log files.
+     */
+    private static void runMerged(List<String> filePaths) {
+        LoginStats loginStats = new LoginStats();
+        Scanner scanner = new Scanner(System.in);
+        try {
+            SessionBuilder builder = new SessionBuilder();
+            ArrayList<Record> records = new ArrayList<>();
+            LogMerger.merge(filePaths, record -> {
+                records.add(record);
+                builder.accept(record);
+            });
+            loginStats.recordList.addAllRecords(records);
+            loginStats.sessions = builder.getSessions();
+            loginStats.displayMenu(scanner);
+        } catch (IOException e) {
+            System.out.println("Error reading from the file. Please check the file path and content.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Data error: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred. Please try again.");
+        } finally {
+            scanner.close();
+        }
+    }
+
+    /**
+     * Runs the program on a stream of events. Ingestion runs on a background thread
+     * while the menu answers queries about the events received so far.
+     *
+     * @param args Command line arguments: the mode, the file or port, and an optional watermark.
+     */
+    private static void runStreaming(String[] args) {
+        Scanner scanner = new Scanner(System.in);
+        try {
+            long watermark = args.length > 2 ? Long.parseLong(args[2]) : 0;
+            LoginEventStream stream = new LoginEventStream(watermark);
+            Thread ingest;
+            if (args[0].equals("-follow")) {
+                ingest = new Thread(() -> {
+                    try {
+                        stream.follow(args[1], 500);
+                    } catch (IOException e) {
+                        System.out.println("Error reading from the file. Please check the file path and content.");
+                    }
+                });
+            } else if (args[0].equals("-listen")) {
+                int port = Integer.parseInt(args[1]);
+                ingest = new Thread(() -> {
+                    try (ServerSocket server = new ServerSocket(port, 1, InetAddress.getLoopbackAddress());
+                         Socket socket = server.accept()) {
+                        stream.ingest(new InputStreamReader(socket.getInputStream()));
+                    } catch (IOException e) {
+                        System.out.println("Error reading from the socket.");
+                    }
+                });
+            } else {
+                System.out.println("Usage: LoginStats [-follow file | -listen port] [watermarkMillis]");
+                return;
+            }
+            ingest.setDaemon(true);
+            ingest.start();
+            displayStreamingMenu(stream, scanner);
+            ingest.interrupt();
+        } catch (NumberFormatException e) {
+            System.out.println("Data error: " + e.getMessage());
+        } finally {
+            scanner.close();
+        }
+    }
+
+    /**
+     * Displays the menu used while events are streaming in.
+     *
+     * @param stream  The stream of events.
+     * @param scanner Scanner object to read user input.
+     */
+    private static void displayStreamingMenu(LoginEventStream stream, Scanner scanner) {
+        boolean continueRunning = true;
+        while (continueRunning) {
+            System.out.println("1. Display Sessions");
+            System.out.println("2. Total Time for a User");
+            System.out.println("3. Number of Active Sessions");
+            System.out.println("4. Exit");
+            System.out.print("Select an option: ");
+
+            try {
+                int choice = scanner.nextInt();
+                switch (choice) {
+                    case 1:
+                        for (Session session : stream.getSessions()) {
+                            System.out.println(session.toString());
+                        }
+                        break;
+                    case 2:
+                        System.out.print("Enter username: ");
+                        String user = scanner.next();
+                        System.out.println("Total time: " + stream.getTotalTime(user) + " ms");
+                        break;
+                    case 3:
+                        System.out.println("Active sessions: " + stream.getActiveSessionCount());
+                        System.out.println("Malformed lines skipped: " + stream.getRejectedLineCount());
+                        break;
+                    case 4:
+                        continueRunning = false;
+                        break;
+                    default:
+                        System.out.println("Invalid choice. Please try again.");
+                }
+            } catch (InputMismatchException e) {
+                System.out.println("Please enter a valid number.");
+                scanner.next(); // clear the invalid input
+            }
+        }
+    }
+
     /**
      * Loads login/logout records from a file.
+     * The file is memory-mapped and decoded by LoginLogParser, and the records are
+     * added to the list in one batch.
      *
      * @param filePath The path to the file containing the records.
      * @throws IOException If there's an issue reading the file.
      */
     private void loadRecordsFromFile(String filePath) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(" ");
-                int terminal = Integer.parseInt(parts[0]);
-                long timeInLong = Long.parseLong(parts[1]);
-                Date time = new Date(timeInLong);
-                String username = parts[2];
-                boolean isLogin = line.contains("login");
-
-                recordList.add(new Record(terminal, isLogin, username, time));
-            }
+        recordList.addAllRecords(new LoginLogParser().readRecords(filePath));
+    }
+
+    /**
+     * Loads the records and sessions from a snapshot written by an earlier run.
+     *
+     * @param snapshotFile The snapshot file.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void loadSnapshot(File snapshotFile) throws IOException {
+        RecordSnapshot snapshot = RecordSnapshot.load(snapshotFile);
+        recordList.addAllRecords(snapshot.getRecords());
+        sessions = snapshot.getSessions();
+    }
+
+    /**
+     * Writes a snapshot of the records and sessions so the next run can skip parsing.
+     * A snapshot that cannot be written only costs time on the next run, so errors are
+     * reported and otherwise ignored.
+     *
+     * @param snapshotFile The snapshot file.
+     * @param filePath     The path to the log file the records were loaded from.
+     */
+    private void saveSnapshot(File snapshotFile, String filePath) {
+        try {
+            RecordSnapshot.write(snapshotFile, recordList, sessions, new File(filePath));
+        } catch (IOException e) {
+            System.out.println("Could not write snapshot: " + e.getMessage());
         }
     }
 
     /**
      * Processes records from the recordList to create sessions.
+     * The sessions are built in one pass over the records and are already in login order.
+     * Logins without a matching logout are kept as active sessions.
      */
     private void processRecords() {
-        RecordList.Node current = recordList.getHead();
-
-        while (current != null) {
-            Record loginRecord = current.data;
-
-            if (loginRecord.isLogin()) {
-                Record logoutRecord = recordList.findMatchingLogoutRecord(current, loginRecord.getUsername());
-                if (logoutRecord != null) {
-                    sessions.add(new Session(loginRecord, logoutRecord));
-                }
-            }
-            current = current.next;
-        }
+        sessions = SessionBuilder.build(recordList);
     }
 
     /**
@@ -0,0 +1,191 @@
+package project5;
+import java.util.*;
+
+/**
+ * This class represents a hash map from primitive long keys to int counts.
+ * It uses open addressing with linear probing so that no key or counter objects
+ * are allocated per entry; all data lives in two parallel arrays.
+ * Keys are arbitrary long values; the slot holding the reserved EMPTY value is
+ * tracked separately so that every long can be used as a key.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+class LongCountMap {
+
+    private static final long EMPTY = Long.MIN_VALUE; // marker for an unused slot
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private long[] keys;   // keys stored in the table
+    private int[] counts;  // counts parallel to keys
+    private int size;      // number of keys stored in the table (excluding EMPTY key)
+    private int mask;      // capacity - 1, capacity is always a power of two
+
+    private boolean hasEmptyKey; // true if the reserved EMPTY value has been used as a key
+    private int emptyKeyCount;   // count associated with the reserved EMPTY key
+
+    /**
+     * Constructs an empty map with a default capacity.
+     */
+    public LongCountMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map that can hold roughly the given number of keys
+     * before it needs to grow.
+     * @param expected expected number of keys
+     * @throws IllegalArgumentException if expected is negative
+     */
+    public LongCountMap(int expected) {
+        if (expected < 0)
+            throw new IllegalArgumentException("Capacity cannot be negative!");
+        int capacity = 16;
+        while (capacity < expected * 2)
+            capacity <<= 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Increments the count associated with the key by one, inserting the key
+     * with a count of one if it is not present.
+     * @param key the key whose count should be incremented
+     * @return the new count of the key
+     */
+    public int increment(long key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Adds delta to the count associated with the key, inserting the key
+     * with a count of delta if it is not present.
+     * @param key the key whose count should be changed
+     * @param delta amount to add to the count
+     * @return the new count of the key
+     */
+    public int add(long key, int delta) {
+        if (key == EMPTY) {
+            if (!hasEmptyKey) {
+                hasEmptyKey = true;
+                emptyKeyCount = 0;
+            }
+            emptyKeyCount += delta;
+            return emptyKeyCount;
+        }
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                counts[slot] += delta;
+                return counts[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        counts[slot] = delta;
+        size++;
+        // keep load factor at or below one half so probe sequences stay short
+        if (size * 2 > keys.length)
+            rehash(keys.length << 1);
+        return delta;
+    }
+
+    /**
+     * Returns the count associated with the key, or -1 if the key is not present.
+     * @param key the key to search for
+     * @return the count of the key, or -1 if not found
+     */
+    public int get(long key) {
+        if (key == EMPTY)
+            return hasEmptyKey ? emptyKeyCount : -1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key)
+                return counts[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of distinct keys stored in the map.
+     * @return number of keys
+     */
+    public int size() {
+        return size + (hasEmptyKey ? 1 : 0);
+    }
+
+    /**
+     * Removes all keys whose count is smaller than minCount.
+     * The table is rebuilt in place of deleting entries one at a time, which
+     * would otherwise require tombstones for linear probing.
+     * @param minCount smallest count of keys that remain in the map
+     */
+    public void prune(int minCount) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int retained = 0;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != EMPTY && oldCounts[i] >= minCount)
+                retained++;
+        int capacity = 16;
+        while (capacity < retained * 2)
+            capacity <<= 1;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != EMPTY && oldCounts[i] >= minCount)
+                insertFresh(oldKeys[i], oldCounts[i]);
+        if (hasEmptyKey && emptyKeyCount < minCount)
+            hasEmptyKey = false;
+    }
+
+    /**
+     * Returns all keys stored in the map in ascending numeric order.
+     * @return a newly allocated sorted array of keys
+     */
+    public long[] sortedKeys() {
+        long[] result = new long[size()];
+        int k = 0;
+        if (hasEmptyKey)
+            result[k++] = EMPTY;
+        for (long key : keys)
+            if (key != EMPTY)
+                result[k++] = key;
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Allocates empty arrays of the given power-of-two capacity
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        counts = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    // Moves all entries into a table of the given capacity
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != EMPTY)
+                insertFresh(oldKeys[i], oldCounts[i]);
+    }
+
+    // Inserts a key known not to be present without checking the load factor
+    private void insertFresh(long key, int count) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY)
+            slot = (slot + 1) & mask;
+        keys[slot] = key;
+        counts[slot] = count;
+        size++;
+    }
+
+    // Spreads the bits of the key so that packed ids do not cluster in the table
+    private static int mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+}
@@ -0,0 +1,125 @@
+package project5;
+import java.util.*;
+
+/**
+ * This class counts the frequency of n-grams (sequences of two or three consecutive words).
+ * Instead of concatenating words into strings, each word is replaced by its dense id from a
+ * WordDictionary and the ids of an n-gram are packed into a single long that is used as the
+ * key of a primitive LongCountMap. Because dictionary ids follow alphabetical order and the
+ * first word is packed into the highest bits, sorting the packed keys numerically yields the
+ * n-grams in alphabetical order.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class NGramIndex {
+
+    // Number of bits used for each word id in a packed trigram key
+    private static final int TRIGRAM_BITS = 21;
+    private static final long TRIGRAM_MASK = (1L << TRIGRAM_BITS) - 1;
+
+    private final int n;                   // number of words in each n-gram (2 or 3)
+    private final WordDictionary dictionary;
+    private final LongCountMap counts;
+
+    /**
+     * Constructs an n-gram index for the words in allWords. A dictionary of distinct words
+     * is built from wordIndex, which must contain every word of allWords.
+     *
+     * @param n         number of words in an n-gram, either 2 or 3
+     * @param wordIndex index containing all distinct words of allWords
+     * @param allWords  list of all the words in the order in which they occur
+     * @throws IllegalArgumentException if n is not 2 or 3, if the vocabulary is too large to
+     *         pack trigrams, or if a word of allWords is missing from wordIndex
+     * @throws NullPointerException if wordIndex or allWords is null
+     */
+    public NGramIndex(int n, Index wordIndex, List<String> allWords) {
+        if (n != 2 && n != 3)
+            throw new IllegalArgumentException("Only bigrams and trigrams are supported!");
+        if (allWords == null)
+            throw new NullPointerException("Word list cannot be null!");
+        this.n = n;
+        dictionary = new WordDictionary(wordIndex);
+        if (n == 3 && dictionary.size() > TRIGRAM_MASK + 1)
+            throw new IllegalArgumentException("Too many distinct words to pack trigrams!");
+        counts = new LongCountMap(Math.min(allWords.size(), dictionary.size() * 8));
+
+        // slide a window of n ids over the text
+        long key = 0;
+        int inWindow = 0;
+        for (String word : allWords) {
+            int id = dictionary.idOf(word);
+            if (id < 0)
+                throw new IllegalArgumentException("Word not found in index: " + word);
+            key = shift(key, id);
+            inWindow++;
+            if (inWindow >= n)
+                counts.increment(key);
+        }
+    }
+
+    /**
+     * Returns the count of the n-gram given as an array of words, or -1 if it does not exist.
+     *
+     * @param words the words of the n-gram
+     * @return the count of the n-gram, or -1 if not found
+     * @throws IllegalArgumentException if the number of words does not match n
+     */
+    public int get(String... words) {
+        if (words == null || words.length != n)
+            throw new IllegalArgumentException("Expected " + n + " words!");
+        long key = 0;
+        for (String w : words) {
+            int id = dictionary.idOf(w);
+            if (id < 0)
+                return -1;
+            key = shift(key, id);
+        }
+        return counts.get(key);
+    }
+
+    /**
+     * Returns number of unique n-grams stored in the index.
+     * @return number of n-grams
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    /**
+     * Removes all n-grams whose count is smaller than minCount.
+     * @param minCount smallest count of n-grams that remain in the index
+     */
+    public void prune(int minCount) {
+        counts.prune(minCount);
+    }
+
+    /**
+     * Returns the n-grams stored in the index in alphabetical order, each formatted
+     * the same way as a Word object: the count followed by the words separated by spaces.
+     * @return list of formatted n-grams
+     */
+    public List<String> sortedEntries() {
+        long[] keys = counts.sortedKeys();
+        ArrayList<String> result = new ArrayList<String>(keys.length);
+        for (long key : keys)
+            result.add(String.format("%5d  %s", counts.get(key), phrase(key)));
+        return result;
+    }
+
+    // Appends a word id to the low end of the packed key, dropping the oldest id
+    private long shift(long key, int id) {
+        if (n == 2)
+            return (key << 32) | id;
+        return ((key << TRIGRAM_BITS) | id) & ((1L << (3 * TRIGRAM_BITS)) - 1);
+    }
+
+    // Decodes a packed key back into its words
+    private String phrase(long key) {
+        if (n == 2)
+            return dictionary.wordOf((int) (key >>> 32)) + " " + dictionary.wordOf((int) key);
+        return dictionary.wordOf((int) (key >>> (2 * TRIGRAM_BITS))) + " "
+            + dictionary.wordOf((int) ((key >>> TRIGRAM_BITS) & TRIGRAM_MASK)) + " "
+            + dictionary.wordOf((int) (key & TRIGRAM_MASK));
+    }
+}
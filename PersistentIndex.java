@@ -0,0 +1,287 @@
+package project5;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class represents a persistent (immutable) search tree where words are stored in
+ * alphabetical order. Nodes are never modified after they are created: an add or remove
+ * copies the nodes on the path from the root to the changed word and publishes the new
+ * root atomically. Readers therefore always see a complete version of the tree, never block
+ * on writers, and never observe a count that is only partially updated.
+ *
+ * The tree is a treap whose priorities are derived from the hash of each word, so it stays
+ * balanced in expectation even when words arrive in sorted order.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class PersistentIndex implements Index {
+
+    // The current version of the tree; replaced as a whole on every change
+    private final AtomicReference<Version> current = new AtomicReference<Version>(new Version(null, 0));
+
+    /**
+     * Constructs an empty tree.
+     */
+    public PersistentIndex() {
+    }
+
+    /**
+     * Adds a word to the tree, or increments its count if it is already present.
+     * Concurrent writers retry until their change is applied to the latest version.
+     *
+     * @param item new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    @Override
+    public void add(String item) {
+        if (item == null)
+            throw new IllegalArgumentException("Wrong input");
+        while (true) {
+            Version v = current.get();
+            boolean present = find(v.root, item) != null;
+            Version next = new Version(insert(v.root, item), present ? v.size : v.size + 1);
+            if (current.compareAndSet(v, next))
+                return;
+        }
+    }
+
+    /**
+     * Removes a word from the tree regardless of its count. Does nothing if the
+     * word is null or not present.
+     *
+     * @param item item to be removed
+     */
+    @Override
+    public void remove(String item) {
+        if (item == null)
+            return;
+        while (true) {
+            Version v = current.get();
+            if (find(v.root, item) == null)
+                return;
+            Version next = new Version(delete(v.root, item), v.size - 1);
+            if (current.compareAndSet(v, next))
+                return;
+        }
+    }
+
+    /**
+     * Returns the count of the word in the latest version, or -1 if it does not exist.
+     *
+     * @param item item whose count should be returned
+     * @return the count associated with the item, or -1 if the item does not exist
+     * @throws NullPointerException if the item is null
+     */
+    @Override
+    public int get(String item) throws NullPointerException {
+        if (item == null)
+            throw new NullPointerException("Null value cannot be searched!");
+        Node n = find(current.get().root, item);
+        return n == null ? -1 : n.count;
+    }
+
+    /**
+     * Returns number of unique words stored in the latest version.
+     * @return number of items stored in the index
+     */
+    @Override
+    public int size() {
+        return current.get().size;
+    }
+
+    /**
+     * Provides an iterator over the version of the tree that is current when this method
+     * is called. Later changes do not affect the iteration. Each returned Word is a copy,
+     * so modifying it does not change the tree. Removing through the iterator removes the
+     * word from the latest version of the tree.
+     *
+     * @return an iterator for the tree
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new VersionIter(current.get().root);
+    }
+
+    /**
+     * Compares the specified object with this index for equality.
+     * Two indexes are considered equal if they contain the same words with the same counts.
+     * @param o The object to be compared with this index.
+     * @return True if the specified object is equal to this index, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Index))
+            return false;
+        Index list2 = (Index) o;
+        if (this.size() != list2.size())
+            return false;
+        Iterator<Word> iter1 = this.iterator();
+        Iterator<Word> iter2 = list2.iterator();
+        while (iter1.hasNext() && iter2.hasNext())
+            if (!iter1.next().equals(iter2.next()))
+                return false;
+        return !iter1.hasNext() && !iter2.hasNext();
+    }
+
+    /**
+     * Returns a string representation of the tree with the words in alphabetical order.
+     * @return a string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        for (Word w : this) {
+            if (result.length() > 1)
+                result.append(", ");
+            result.append(w);
+        }
+        return result.append("]").toString();
+    }
+
+    // Returns the node containing item, or null if there is none
+    private static Node find(Node n, String item) {
+        while (n != null) {
+            int diff = item.compareTo(n.word);
+            if (diff == 0)
+                return n;
+            n = diff < 0 ? n.left : n.right;
+        }
+        return null;
+    }
+
+    // Returns a copy of the subtree with item added, sharing every node off the search path
+    private static Node insert(Node n, String item) {
+        if (n == null)
+            return new Node(item, 1, priority(item), null, null);
+        int diff = item.compareTo(n.word);
+        if (diff == 0)
+            return new Node(n.word, n.count + 1, n.priority, n.left, n.right);
+        if (diff < 0) {
+            Node left = insert(n.left, item);
+            if (left.priority > n.priority) // rotate right
+                return new Node(left.word, left.count, left.priority, left.left,
+                                new Node(n.word, n.count, n.priority, left.right, n.right));
+            return new Node(n.word, n.count, n.priority, left, n.right);
+        } else {
+            Node right = insert(n.right, item);
+            if (right.priority > n.priority) // rotate left
+                return new Node(right.word, right.count, right.priority,
+                                new Node(n.word, n.count, n.priority, n.left, right.left), right.right);
+            return new Node(n.word, n.count, n.priority, n.left, right);
+        }
+    }
+
+    // Returns a copy of the subtree with item removed; item must be present
+    private static Node delete(Node n, String item) {
+        int diff = item.compareTo(n.word);
+        if (diff < 0)
+            return new Node(n.word, n.count, n.priority, delete(n.left, item), n.right);
+        if (diff > 0)
+            return new Node(n.word, n.count, n.priority, n.left, delete(n.right, item));
+        return merge(n.left, n.right);
+    }
+
+    // Joins two subtrees where every word of a is smaller than every word of b
+    private static Node merge(Node a, Node b) {
+        if (a == null)
+            return b;
+        if (b == null)
+            return a;
+        if (a.priority > b.priority)
+            return new Node(a.word, a.count, a.priority, a.left, merge(a.right, b));
+        return new Node(b.word, b.count, b.priority, merge(a, b.left), b.right);
+    }
+
+    // Derives a well-mixed priority from the word so the shape does not depend on insertion order
+    private static int priority(String word) {
+        int h = word.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * An immutable pair of a root and the number of words reachable from it.
+     */
+    private static final class Version {
+        final Node root;
+        final int size;
+
+        Version(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Node class representing the immutable nodes of the tree.
+     */
+    private static final class Node {
+        final String word;   // the word stored in the node
+        final int count;     // number of occurrences of the word
+        final int priority;  // treap priority, larger values are closer to the root
+        final Node left;     // subtree of smaller words
+        final Node right;    // subtree of larger words
+
+        Node(String word, int count, int priority, Node left, Node right) {
+            this.word = word;
+            this.count = count;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    // Inner class for an inorder iterator over one version of the tree
+    private class VersionIter implements Iterator<Word> {
+        ArrayDeque<Node> stack = new ArrayDeque<Node>(); // path to the next node to return
+        String lastReturned;                             // word returned by the last call to next
+
+        VersionIter(Node root) {
+            pushLeft(root);
+        }
+
+        // Pushes n and its chain of left children onto the stack
+        private void pushLeft(Node n) {
+            while (n != null) {
+                stack.push(n);
+                n = n.left;
+            }
+        }
+
+        /**
+         * Checks if there are more elements in the iteration.
+         * @return true if there are more elements, false otherwise.
+         */
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        /**
+         * Returns a copy of the next element in the iteration.
+         * @return The next Word object, or null if no more elements.
+         */
+        @Override
+        public Word next() {
+            if (stack.isEmpty())
+                return null;
+            Node n = stack.pop();
+            pushLeft(n.right);
+            lastReturned = n.word;
+            return new Word(n.word, n.count);
+        }
+
+        /**
+         * Removes the last returned element from the latest version of the tree.
+         */
+        @Override
+        public void remove() {
+            if (lastReturned == null)
+                return;
+            PersistentIndex.this.remove(lastReturned);
+            lastReturned = null;
+        }
+    }
+}
@@ -34,6 +34,27 @@ public class Record implements Comparable<Record> {
         this.time = new Date(time.getTime());  // Copying to ensure immutability of the Date object
     }
 
+    /**
+     * Constructs a Record object using a time given in milliseconds, without requiring
+     * the caller to create a Date object.
+     *
+     * @param terminal   Terminal number where the event occurred.
+     * @param login      True if it's a login event, false for logout.
+     * @param username   Username associated with the event.
+     * @param timeMillis Time of the event in milliseconds.
+     * @throws IllegalArgumentException If the terminal number is not a positive integer.
+     */
+    public Record(int terminal, boolean login, String username, long timeMillis) {
+        if (terminal <= 0) {
+            throw new IllegalArgumentException("Terminal number must be a positive integer.");
+        }
+
+        this.terminal = terminal;
+        this.login = login;
+        this.username = username;
+        this.time = new Date(timeMillis);
+    }
+
     /**
      * @return The terminal number where the event occurred.
      */
@@ -69,6 +90,13 @@ public class Record implements Comparable<Record> {
         return new Date(time.getTime());  // Return a copy to ensure immutability
     }
 
+    /**
+     * @return The time of the event in milliseconds, without creating a new Date object.
+     */
+    public long getTimeMillis() {
+        return time.getTime();
+    }
+
     /**
      * Compares this record to another based on the event times.
      *
@@ -77,7 +105,7 @@ public class Record implements Comparable<Record> {
      */
     @Override
     public int compareTo(Record other) {
-        return this.time.compareTo(other.getTime());
+        return Long.compare(time.getTime(), other.time.getTime());
     }
 
     /**
@@ -105,7 +133,7 @@ public class Record implements Comparable<Record> {
         return terminal == otherRecord.getTerminal() &&
                login == otherRecord.isLogin() &&
                username.equals(otherRecord.getUsername()) &&
-               time.equals(otherRecord.getTime());
+               time.getTime() == otherRecord.time.getTime();
     }
 
   
@@ -1,14 +1,119 @@
 package project3;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is a representation of a list of records (login/logout) and provides methods to retrieve 
  * sessions for specific users.
+ * Besides the list itself, the records are indexed by username and by (username, terminal),
+ * so the session queries only look at the records of the requested user. Each user's
+ * total time, session count, first and last session and open logins are kept up to date
+ * as records are added, so those queries are answered without looking at any records.
  * @author Vedant Desai
  */
 public class RecordList extends SortedLinkedList<Record> {
 
+    private HashMap<String, UserRecords> users = new HashMap<>(); // records of each user, in list order
+    private int indexedSize;      // number of records of the list reflected in the indexes
+    private boolean indexesStale; // true if the indexes have to be rebuilt from the list
+
+    /**
+     * This adds a record to the list and keeps the user indexes up to date.
+     * Records that arrive in time order are appended to the indexes directly. A record
+     * that is older than the user's latest record is inserted among that user's records
+     * and only that user's aggregates are recomputed; if the user already has a record
+     * with the same time, the order between the two depends on the list, and the indexes
+     * are rebuilt from the list before the next query.
+     *
+     * @param record The record to add.
+     */
+    public void addRecord(Record record) {
+        int before = size();
+        add(record);
+        if (indexesStale || before != indexedSize || size() != before + 1) {
+            indexesStale = true;
+            return;
+        }
+        UserRecords records = users.get(record.getUsername());
+        if (records == null) {
+            records = new UserRecords();
+            users.put(record.getUsername(), records);
+        } else if (record.getTimeMillis() <= records.lastTime()) {
+            UserRecords rebuilt = records.withInserted(record);
+            if (rebuilt == null) {
+                // its place among the user's records depends on the list order; rebuild later
+                indexesStale = true;
+                return;
+            }
+            users.put(record.getUsername(), rebuilt);
+            indexedSize++;
+            return;
+        }
+        records.append(record);
+        indexedSize++;
+    }
+
+    /**
+     * This adds a batch of records, such as a whole log file, to the list.
+     * The batch is sorted by time with a stable sort (a batch that is already in order
+     * is detected in one pass and not sorted). Records that are not older than the first
+     * record of the list are added one by one. The records that are older, which is the
+     * whole batch when the list is empty, are added from the newest run of equal times to
+     * the oldest, keeping the batch order inside each run, so that every record is linked
+     * in at the front of the list instead of after a walk over all earlier records.
+     * Records with equal times thus meet in add in the same order as with one add per
+     * record in batch order. The user indexes are rebuilt once, before the next query.
+     *
+     * @param records The records to add.
+     */
+    public void addAllRecords(Collection<Record> records) {
+        ArrayList<Record> sorted = new ArrayList<>(records);
+        boolean inOrder = true;
+        for (int i = 1; i < sorted.size() && inOrder; i++) {
+            inOrder = sorted.get(i - 1).getTimeMillis() <= sorted.get(i).getTimeMillis();
+        }
+        if (!inOrder) {
+            Collections.sort(sorted);
+        }
+
+        int older = sorted.size(); // number of records older than the first record of the list
+        Node first = getHead();
+        if (first != null) {
+            older = 0;
+            while (older < sorted.size() && sorted.get(older).compareTo(first.data) < 0) {
+                older++;
+            }
+            for (int i = older; i < sorted.size(); i++) {
+                add(sorted.get(i));
+            }
+        }
+        // go through runs of equal times from the last run to the first, keeping the
+        // order inside each run
+        int end = older;
+        while (end > 0) {
+            int start = end - 1;
+            long time = sorted.get(start).getTimeMillis();
+            while (start > 0 && sorted.get(start - 1).getTimeMillis() == time) {
+                start--;
+            }
+            for (int i = start; i < end; i++) {
+                add(sorted.get(i));
+            }
+            end = start;
+        }
+        indexesStale = true;
+    }
+
     /**
      * This retrieves the first session for the specified user.
      *
@@ -19,24 +124,11 @@ public class RecordList extends SortedLinkedList<Record> {
     public Session getFirstSession(String user) {
         validateUserArgument(user);
 
-        Session firstSession = null;
-        Node current = getHead();
-        while (current != null) {
-            Record loginRecord = current.data;
-            if (loginRecord.getUsername().equals(user) && loginRecord.isLogin()) {
-                Record logoutRecord = findMatchingLogoutRecord(current, user);
-                if (logoutRecord != null) {
-                    firstSession = new Session(loginRecord, logoutRecord);
-                    break;
-                }
-            }
-            current = current.next;
-        }
-
-        if (firstSession == null) {
-            throw new NoSuchElementException("No matching record for user: " + user);
+        UserRecords records = recordsOf(user);
+        if (records != null && records.firstLogin >= 0) {
+            return new Session(records.get(records.firstLogin), records.firstLogout);
         }
-        return firstSession;
+        throw new NoSuchElementException("No matching record for user: " + user);
     }
 
     /**
@@ -49,26 +141,11 @@ public class RecordList extends SortedLinkedList<Record> {
     public Session getLastSession(String user) {
         validateUserArgument(user);
 
-        Session lastSession = null;
-        Node current = getHead();
-        Record lastLoginRecord = null;
-        Record lastLogoutRecord = null;
-        while (current != null) {
-            Record record = current.data;
-            if (record.getUsername().equals(user) && record.isLogin()) {
-                lastLoginRecord = record;
-                lastLogoutRecord = findMatchingLogoutRecord(current, user);
-            }
-            current = current.next;
-        }
-
-        if (lastLoginRecord != null) {
-            lastSession = new Session(lastLoginRecord, lastLogoutRecord);
-        } else {
-            throw new NoSuchElementException("No matching record for user: " + user);
+        UserRecords records = recordsOf(user);
+        if (records != null && records.lastLogin >= 0) {
+            return new Session(records.get(records.lastLogin), records.lastLogout);
         }
-
-        return lastSession;
+        throw new NoSuchElementException("No matching record for user: " + user);
     }
 
     /**
@@ -80,20 +157,40 @@ public class RecordList extends SortedLinkedList<Record> {
     public long getTotalTime(String user) {
         validateUserArgument(user);
 
-        long totalTime = 0;
-        Node current = getHead();
-        while (current != null) {
-            Record loginRecord = current.data;
-            if (loginRecord.getUsername().equals(user) && loginRecord.isLogin()) {
-                Record logoutRecord = findMatchingLogoutRecord(current, user);
-                if (logoutRecord != null) {
-                    totalTime += logoutRecord.getTime().getTime() - loginRecord.getTime().getTime();
-                }
-            }
-            current = current.next;
+        UserRecords records = recordsOf(user);
+        return records == null ? 0 : records.totalTime;
+    }
+
+    /**
+     * This counts the sessions of the specified user, including active ones.
+     *
+     * @param user The user whose sessions are counted.
+     * @return The number of logins of the user.
+     */
+    public int getSessionCount(String user) {
+        validateUserArgument(user);
+
+        UserRecords records = recordsOf(user);
+        return records == null ? 0 : records.sessionCount;
+    }
+
+    /**
+     * This retrieves the login of the specified user on a terminal that has not been
+     * followed by a logout yet. If several logins are open, the latest one is returned.
+     *
+     * @param user The user.
+     * @param terminal The terminal.
+     * @return The open login record, or null if the user is not logged in on the terminal.
+     */
+    public Record getOpenLogin(String user, int terminal) {
+        validateUserArgument(user);
+
+        UserRecords records = recordsOf(user);
+        if (records == null) {
+            return null;
         }
-        
-        return totalTime;
+        ArrayList<Integer> open = records.openLogins.get(terminal);
+        return open == null ? null : records.get(open.get(open.size() - 1));
     }
 
     /**
@@ -106,31 +203,64 @@ public class RecordList extends SortedLinkedList<Record> {
     public SortedLinkedList<Session> getAllSessions(String user) {
         validateUserArgument(user);
 
-        SortedLinkedList<Session> allSessions = new SortedLinkedList<>();
-        Node current = getHead();
-        boolean userFound = false;
+        UserRecords records = recordsOf(user);
+        if (records == null) {
+            throw new NoSuchElementException("No records found for user: " + user);
+        }
 
-        while (current != null) {
-            Record loginRecord = current.data;
-            if (loginRecord.getUsername().equals(user)) {
-                userFound = true;
-                if (loginRecord.isLogin()) {
-                    Record logoutRecord = findMatchingLogoutRecord(current, user);
-                    if (logoutRecord != null) {
-                        allSessions.add(new Session(loginRecord, logoutRecord));
-                    } else {
-                        allSessions.add(new Session(loginRecord, null));
-                    }
-                }
+        SortedLinkedList<Session> allSessions = new SortedLinkedList<>();
+        for (int i = 0; i < records.size(); i++) {
+            Record loginRecord = records.get(i);
+            if (loginRecord.isLogin()) {
+                allSessions.add(new Session(loginRecord, records.matchingLogout(i)));
             }
-            current = current.next;
         }
 
-        if (!userFound) {
-            throw new NoSuchElementException("No records found for user: " + user);
+        return allSessions;
+    }
+
+    /**
+     * This iterates lazily over the sessions of the specified user in login order. Each
+     * session is matched with its logout only when it is requested, so a caller that stops
+     * early, for example after the first ten sessions, does not pay for the rest.
+     * The list must not be changed while the iterator is in use.
+     *
+     * @param user The user whose sessions are to be iterated.
+     * @return An iterator over the user's sessions, empty if the user has no records.
+     */
+    public Iterator<Session> sessionIterator(String user) {
+        return sessionIterator(user, Long.MIN_VALUE);
+    }
+
+    /**
+     * This iterates lazily over the sessions of the specified user that started at or after
+     * the given time, in login order. The first session is found with a binary search.
+     *
+     * @param user The user whose sessions are to be iterated.
+     * @param fromMillis The earliest login time of a returned session, in milliseconds.
+     * @return An iterator over the user's sessions, empty if there are none.
+     */
+    public Iterator<Session> sessionIterator(String user, long fromMillis) {
+        validateUserArgument(user);
+
+        UserRecords records = recordsOf(user);
+        if (records == null) {
+            return Collections.emptyIterator();
         }
+        return new SessionIterator(records, records.firstAtOrAfter(fromMillis));
+    }
 
-        return allSessions;
+    /**
+     * This returns the sessions of the specified user as a lazy ordered stream, for example
+     * sessions(user, from).limit(10) for the first ten sessions after a date.
+     *
+     * @param user The user whose sessions are to be streamed.
+     * @param fromMillis The earliest login time of a returned session, in milliseconds.
+     * @return A stream of the user's sessions in login order.
+     */
+    public Stream<Session> sessions(String user, long fromMillis) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(sessionIterator(user, fromMillis),
+            Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     /**
@@ -152,6 +282,42 @@ public class RecordList extends SortedLinkedList<Record> {
         return null;
     }
 
+    /**
+     * Returns the indexed records of a user, rebuilding the indexes first if the list has
+     * changed in a way they do not reflect.
+     *
+     * @param user The user whose records are requested.
+     * @return The user's records, or null if the user has no records.
+     */
+    private UserRecords recordsOf(String user) {
+        if (indexesStale || indexedSize != size()) {
+            rebuildIndexes();
+        }
+        return users.get(user);
+    }
+
+    /**
+     * Rebuilds the user indexes with a single pass over the list.
+     */
+    private void rebuildIndexes() {
+        users = new HashMap<>();
+        int count = 0;
+        Node current = getHead();
+        while (current != null) {
+            Record record = current.data;
+            UserRecords records = users.get(record.getUsername());
+            if (records == null) {
+                records = new UserRecords();
+                users.put(record.getUsername(), records);
+            }
+            records.append(record);
+            count++;
+            current = current.next;
+        }
+        indexedSize = count;
+        indexesStale = false;
+    }
+
     /**
      * Validates the user argument to ensure it's not null or empty.
      *
@@ -172,4 +338,157 @@ public class RecordList extends SortedLinkedList<Record> {
     protected Node getHead() {
         return this.head;
     }
+
+    /* Iterates over the logins of one user, matching each with its logout when it is returned. */
+    private static class SessionIterator implements Iterator<Session> {
+        private final UserRecords records;
+        private int next; // position of the next record that may be a login
+
+        SessionIterator(UserRecords records, int start) {
+            this.records = records;
+            this.next = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next < records.size() && !records.get(next).isLogin()) {
+                next++;
+            }
+            return next < records.size();
+        }
+
+        @Override
+        public Session next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more sessions.");
+            }
+            int login = next++;
+            return new Session(records.get(login), records.matchingLogout(login));
+        }
+    }
+
+    /**
+     * The records of one user in list order, together with the same records grouped by
+     * terminal. A logout matching a login can then be found among the user's records on
+     * that terminal instead of in the whole list. The aggregates are updated by append.
+     */
+    private static class UserRecords {
+        private final ArrayList<Record> records = new ArrayList<>();
+        private final HashMap<Integer, ArrayList<Record>> byTerminal = new HashMap<>();
+        private int[] terminalPosition = new int[4]; // position of records[i] in its terminal list
+
+        // logins without a logout yet, by terminal, as positions in records
+        final HashMap<Integer, ArrayList<Integer>> openLogins = new HashMap<>();
+        long totalTime;         // time of all completed sessions
+        int sessionCount;       // number of logins
+        int firstLogin = -1;    // position of the first login that has a logout
+        Record firstLogout;     // the logout of that login
+        int lastLogin = -1;     // position of the last login
+        Record lastLogout;      // the logout of that login, or null while it is active
+
+        /**
+         * Appends a record that comes after all records already stored.
+         */
+        void append(Record record) {
+            int position = records.size();
+            if (record.isLogin()) {
+                openLogins.computeIfAbsent(record.getTerminal(), t -> new ArrayList<>(1)).add(position);
+                sessionCount++;
+                lastLogin = position;
+                lastLogout = null;
+            } else {
+                ArrayList<Integer> closed = openLogins.remove(record.getTerminal());
+                if (closed != null) {
+                    for (int login : closed) {
+                        totalTime += record.getTimeMillis() - records.get(login).getTimeMillis();
+                        if (firstLogin < 0 || login < firstLogin) {
+                            firstLogin = login;
+                            firstLogout = record;
+                        }
+                        if (login == lastLogin) {
+                            lastLogout = record;
+                        }
+                    }
+                }
+            }
+
+            ArrayList<Record> terminalRecords = byTerminal.get(record.getTerminal());
+            if (terminalRecords == null) {
+                terminalRecords = new ArrayList<>();
+                byTerminal.put(record.getTerminal(), terminalRecords);
+            }
+            if (records.size() == terminalPosition.length) {
+                terminalPosition = Arrays.copyOf(terminalPosition, terminalPosition.length * 2);
+            }
+            terminalPosition[records.size()] = terminalRecords.size();
+            terminalRecords.add(record);
+            records.add(record);
+        }
+
+        int size() {
+            return records.size();
+        }
+
+        Record get(int i) {
+            return records.get(i);
+        }
+
+        long lastTime() {
+            return records.get(records.size() - 1).getTimeMillis();
+        }
+
+        /**
+         * Returns the position of the first record at or after the given time.
+         */
+        int firstAtOrAfter(long time) {
+            int lo = 0;
+            int hi = records.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (records.get(mid).getTimeMillis() < time) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Returns the records of this user with one older record inserted at its place in
+         * time, with all aggregates recomputed, or null if a record with the same time is
+         * already stored and the place of the new one is therefore not known.
+         */
+        UserRecords withInserted(Record record) {
+            long time = record.getTimeMillis();
+            int position = records.size();
+            while (position > 0 && records.get(position - 1).getTimeMillis() >= time) {
+                if (records.get(position - 1).getTimeMillis() == time) {
+                    return null;
+                }
+                position--;
+            }
+            UserRecords rebuilt = new UserRecords();
+            for (int i = 0; i < records.size(); i++) {
+                if (i == position) {
+                    rebuilt.append(record);
+                }
+                rebuilt.append(records.get(i));
+            }
+            return rebuilt;
+        }
+
+        /**
+         * Returns the first logout on the same terminal after the i-th record, or null.
+         */
+        Record matchingLogout(int i) {
+            ArrayList<Record> terminalRecords = byTerminal.get(records.get(i).getTerminal());
+            for (int k = terminalPosition[i] + 1; k < terminalRecords.size(); k++) {
+                if (terminalRecords.get(k).isLogout()) {
+                    return terminalRecords.get(k);
+                }
+            }
+            return null;
+        }
+    }
 }
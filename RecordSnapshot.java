@@ -0,0 +1,221 @@
+package project3;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * This is a compact binary snapshot of loaded records and the sessions built from them.
+ * Loading a snapshot skips parsing the text log, sorting the records and matching logins
+ * with logouts: the records are decoded in time order and every session refers to its
+ * login and logout by position.
+ *
+ * Usernames are stored once in a dictionary and records refer to them by id. Times are
+ * stored as the difference to the previous record, which is small because the records are
+ * in time order. All numbers after the header are variable-byte encoded, signed ones with
+ * zigzag encoding. File layout (header ints and longs are big-endian):
+ *   int magic, long sourceLength, long sourceModified, int userCount, int recordCount,
+ *   int sessionCount,
+ *   usernames: vint length, byte[length] name (UTF-8)
+ *   records:   vlong time delta, vint terminal, vint (userId * 2 + 1 if login)
+ *   sessions:  vint login position delta, vint logout position - login position (0 if active)
+ * The length and modification time of the log file are stored so that a snapshot of an
+ * older version of the log is not used.
+ * author Vedant Desai
+ */
+public class RecordSnapshot {
+
+    private static final int MAGIC = 0x4C534E31; // "LSN1"
+    private static final int HEADER_SIZE = 32;
+
+    private final ArrayList<Record> records;   // records in time order
+    private final ArrayList<Session> sessions; // sessions in login order
+
+    private RecordSnapshot(ArrayList<Record> records, ArrayList<Session> sessions) {
+        this.records = records;
+        this.sessions = sessions;
+    }
+
+    /**
+     * @return The records of the snapshot in time order.
+     */
+    public ArrayList<Record> getRecords() {
+        return records;
+    }
+
+    /**
+     * @return The sessions of the snapshot in login order.
+     */
+    public ArrayList<Session> getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Writes a snapshot of a record list and the sessions built from it. The snapshot is
+     * written to a temporary file in the same directory that then replaces the snapshot
+     * file, so a run that is interrupted while writing leaves the old snapshot or none.
+     *
+     * @param snapshotFile The file to write.
+     * @param recordList   The records.
+     * @param sessions     The sessions; their records must be in the record list.
+     * @param source       The log file the records were loaded from.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If a session refers to a record that is not in the list.
+     */
+    public static void write(File snapshotFile, RecordList recordList, List<Session> sessions, File source)
+            throws IOException {
+        UsernameDictionary usernames = new UsernameDictionary();
+        IdentityHashMap<Record, Integer> positions = new IdentityHashMap<>();
+        ArrayList<Record> records = new ArrayList<>();
+        RecordList.Node current = recordList.getHead();
+        while (current != null) {
+            usernames.intern(current.data.getUsername());
+            positions.put(current.data, records.size());
+            records.add(current.data);
+            current = current.next;
+        }
+
+        File directory = snapshotFile.getAbsoluteFile().getParentFile();
+        File temporary = File.createTempFile(snapshotFile.getName(), ".tmp", directory);
+        try {
+            writeTo(temporary, usernames, records, positions, sessions, source);
+            try {
+                Files.move(temporary.toPath(), snapshotFile.toPath(),
+                           StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary.toPath());
+        }
+    }
+
+    // Writes the header and the encoded dictionary, records and sessions to a file
+    private static void writeTo(File file, UsernameDictionary usernames, ArrayList<Record> records,
+                                IdentityHashMap<Record, Integer> positions, List<Session> sessions,
+                                File source) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeLong(source.length());
+            out.writeLong(source.lastModified());
+            out.writeInt(usernames.size());
+            out.writeInt(records.size());
+            out.writeInt(sessions.size());
+            for (int id = 0; id < usernames.size(); id++) {
+                byte[] name = usernames.nameOf(id).getBytes(StandardCharsets.UTF_8);
+                VarLong.write(out, name.length);
+                out.write(name);
+            }
+            long previousTime = 0;
+            for (Record record : records) {
+                VarLong.write(out, VarLong.zigzag(record.getTimeMillis() - previousTime));
+                VarLong.write(out, record.getTerminal());
+                VarLong.write(out, (long) usernames.idOf(record.getUsername()) * 2 + (record.isLogin() ? 1 : 0));
+                previousTime = record.getTimeMillis();
+            }
+            int previousLogin = 0;
+            for (Session session : sessions) {
+                Integer login = positions.get(session.getLoginRecord());
+                Integer logout = session.getLogoutRecord() == null ? login : positions.get(session.getLogoutRecord());
+                if (login == null || logout == null) {
+                    throw new IllegalArgumentException("Session refers to a record that is not in the list.");
+                }
+                VarLong.write(out, VarLong.zigzag(login - previousLogin));
+                VarLong.write(out, VarLong.zigzag(logout - login));
+                previousLogin = login;
+            }
+        }
+    }
+
+    /**
+     * Tells whether a snapshot exists and was written for the current version of a log file.
+     *
+     * @param snapshotFile The snapshot file.
+     * @param source       The log file.
+     * @return True if the snapshot can be loaded instead of the log file.
+     */
+    public static boolean isCurrent(File snapshotFile, File source) {
+        if (!snapshotFile.isFile() || snapshotFile.length() < HEADER_SIZE) {
+            return false;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "r")) {
+            return file.readInt() == MAGIC
+                && file.readLong() == source.length()
+                && file.readLong() == source.lastModified();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads a snapshot by memory-mapping it.
+     *
+     * @param snapshotFile The snapshot file.
+     * @return The records and sessions of the snapshot.
+     * @throws IOException If the file cannot be read or is not a snapshot.
+     */
+    public static RecordSnapshot load(File snapshotFile) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = new RandomAccessFile(snapshotFile, "r").getChannel()) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large.");
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a record snapshot.");
+        }
+        int userCount = data.getInt(20);
+        int recordCount = data.getInt(24);
+        int sessionCount = data.getInt(28);
+        // every name, record and session takes at least 1, 3 and 2 bytes
+        if (userCount < 0 || recordCount < 0 || sessionCount < 0
+            || userCount + 3L * recordCount + 2L * sessionCount > data.limit() - HEADER_SIZE) {
+            throw new IOException("Corrupt record snapshot: counts do not match the file size.");
+        }
+        data.position(HEADER_SIZE);
+        try {
+            String[] names = new String[userCount];
+            for (int id = 0; id < userCount; id++) {
+                long length = VarLong.read(data);
+                if (length > data.remaining()) {
+                    throw new IOException("Corrupt record snapshot: name is longer than the file.");
+                }
+                byte[] name = new byte[(int) length];
+                data.get(name);
+                names[id] = new String(name, StandardCharsets.UTF_8);
+            }
+            ArrayList<Record> records = new ArrayList<>(recordCount);
+            long time = 0;
+            for (int i = 0; i < recordCount; i++) {
+                time += VarLong.unzigzag(VarLong.read(data));
+                int terminal = (int) VarLong.read(data);
+                long user = VarLong.read(data);
+                records.add(new Record(terminal, (user & 1) != 0, names[(int) (user >>> 1)], time));
+            }
+            ArrayList<Session> sessions = new ArrayList<>(sessionCount);
+            int login = 0;
+            for (int i = 0; i < sessionCount; i++) {
+                login += (int) VarLong.unzigzag(VarLong.read(data));
+                int length = (int) VarLong.unzigzag(VarLong.read(data));
+                sessions.add(new Session(records.get(login), length == 0 ? null : records.get(login + length)));
+            }
+            return new RecordSnapshot(records, sessions);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt record snapshot.", e);
+        }
+    }
+}
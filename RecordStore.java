@@ -0,0 +1,448 @@
+package project3;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This stores login/logout records column by column in primitive arrays instead of as
+ * Record objects: the terminal, the time in milliseconds, the id of the username in a
+ * UsernameDictionary, and one bit for login or logout. It answers the same session queries
+ * as RecordList, and creates Record and Session objects only for the results a caller asks for.
+ *
+ * Records may be added in any order. Before the first query after an addition the rows are
+ * put in time order (equal times keep their insertion order), the rows of every user are
+ * collected, and each login is matched with the first later logout of the same user on the
+ * same terminal, in one pass.
+ * author Vedant Desai
+ */
+public class RecordStore {
+
+    private final UsernameDictionary usernames;
+
+    // columns, one entry per record
+    private int[] terminals = new int[16];
+    private long[] times = new long[16];
+    private int[] userIds = new int[16];
+    private long[] loginBits = new long[1];
+    private int size;
+
+    // derived data, valid while prepared is true
+    private boolean prepared = true;
+    private int[] userStart = new int[1];  // rows of user u are userRows[userStart[u] .. userStart[u + 1])
+    private int[] userRows = new int[0];
+    private int[] matchingLogout = new int[0]; // row of the matching logout of each login row, or -1
+
+    /**
+     * Constructs an empty store with its own username dictionary.
+     */
+    public RecordStore() {
+        this(new UsernameDictionary());
+    }
+
+    /**
+     * Constructs an empty store that uses the given username dictionary.
+     *
+     * @param usernames The dictionary used to number usernames.
+     */
+    public RecordStore(UsernameDictionary usernames) {
+        this.usernames = usernames;
+    }
+
+    /**
+     * Loads a log file into a new store without creating Record objects.
+     *
+     * @param filePath The path to the log file.
+     * @return The store holding all records of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static RecordStore load(String filePath) throws IOException {
+        LoginLogParser parser = new LoginLogParser();
+        RecordStore store = new RecordStore(parser.getUsernames());
+        parser.parse(filePath, store::add);
+        return store;
+    }
+
+    /**
+     * Loads several log files that are each sorted by time into a new store, merging them
+     * into time order while they are parsed.
+     *
+     * @param filePaths The paths to the log files.
+     * @return The store holding all records of the files.
+     * @throws IOException If a file cannot be read.
+     */
+    public static RecordStore load(List<String> filePaths) throws IOException {
+        RecordStore store = new RecordStore();
+        LogMerger.merge(filePaths, store::add);
+        return store;
+    }
+
+    /**
+     * Adds a record.
+     *
+     * @param terminal   Terminal number where the event occurred.
+     * @param timeMillis Time of the event in milliseconds.
+     * @param username   Username associated with the event.
+     * @param login      True for a login, false for a logout.
+     * @throws IllegalArgumentException If the terminal number is not a positive integer.
+     */
+    public void add(int terminal, long timeMillis, String username, boolean login) {
+        add(terminal, timeMillis, usernames.intern(username), login);
+    }
+
+    /**
+     * Adds a record whose username is already in this store's dictionary.
+     *
+     * @param terminal   Terminal number where the event occurred.
+     * @param timeMillis Time of the event in milliseconds.
+     * @param userId     Id of the username in the dictionary.
+     * @param login      True for a login, false for a logout.
+     * @throws IllegalArgumentException If the terminal number is not a positive integer.
+     */
+    public void add(int terminal, long timeMillis, int userId, boolean login) {
+        if (terminal <= 0) {
+            throw new IllegalArgumentException("Terminal number must be a positive integer.");
+        }
+        if (size == terminals.length) {
+            int capacity = size * 2;
+            terminals = Arrays.copyOf(terminals, capacity);
+            times = Arrays.copyOf(times, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            loginBits = Arrays.copyOf(loginBits, (capacity + 63) >>> 6);
+        }
+        terminals[size] = terminal;
+        times[size] = timeMillis;
+        userIds[size] = userId;
+        setLogin(size, login);
+        size++;
+        prepared = false;
+    }
+
+    /**
+     * Adds a copy of a record.
+     *
+     * @param record The record to add.
+     */
+    public void add(Record record) {
+        add(record.getTerminal(), record.getTimeMillis(), record.getUsername(), record.isLogin());
+    }
+
+    /**
+     * @return The number of records in the store.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The dictionary of usernames used by this store.
+     */
+    public UsernameDictionary getUsernames() {
+        return usernames;
+    }
+
+    /**
+     * Creates a Record object for a row. Rows are numbered in time order.
+     *
+     * @param row The row number.
+     * @return The record stored in the row.
+     */
+    public Record getRecord(int row) {
+        prepare();
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Invalid row: " + row);
+        }
+        return new Record(terminals[row], isLogin(row), usernames.nameOf(userIds[row]), times[row]);
+    }
+
+    /**
+     * This retrieves the first session for the specified user.
+     *
+     * @param user The user whose session is to be fetched.
+     * @return The first session of the user.
+     * @throws NoSuchElementException if no session found for the user.
+     */
+    public Session getFirstSession(String user) {
+        int u = userIdOf(user);
+        if (u >= 0) {
+            for (int k = userStart[u]; k < userStart[u + 1]; k++) {
+                int row = userRows[k];
+                if (isLogin(row) && matchingLogout[row] >= 0) {
+                    return session(row);
+                }
+            }
+        }
+        throw new NoSuchElementException("No matching record for user: " + user);
+    }
+
+    /**
+     * This retrieves the last session for the specified user.
+     *
+     * @param user The user whose session is to be fetched.
+     * @return The last session of the user.
+     * @throws NoSuchElementException if no session found for the user.
+     */
+    public Session getLastSession(String user) {
+        int u = userIdOf(user);
+        if (u >= 0) {
+            for (int k = userStart[u + 1] - 1; k >= userStart[u]; k--) {
+                int row = userRows[k];
+                if (isLogin(row)) {
+                    return session(row);
+                }
+            }
+        }
+        throw new NoSuchElementException("No matching record for user: " + user);
+    }
+
+    /**
+     * This Calculates the total time the specified user was logged in.
+     *
+     * @param user The user for whom the total login time is calculated.
+     * @return The total login time of the user in milliseconds.
+     */
+    public long getTotalTime(String user) {
+        int u = userIdOf(user);
+        long totalTime = 0;
+        if (u < 0) {
+            return totalTime;
+        }
+        for (int k = userStart[u]; k < userStart[u + 1]; k++) {
+            int row = userRows[k];
+            if (isLogin(row) && matchingLogout[row] >= 0) {
+                totalTime += times[matchingLogout[row]] - times[row];
+            }
+        }
+        return totalTime;
+    }
+
+    /**
+     * This retrieves all sessions of the specified user.
+     *
+     * @param user The user whose sessions are to be fetched.
+     * @return A list of all sessions of the user.
+     * @throws NoSuchElementException if no records found for the user.
+     */
+    public SortedLinkedList<Session> getAllSessions(String user) {
+        int u = userIdOf(user);
+        if (u < 0 || userStart[u] == userStart[u + 1]) {
+            throw new NoSuchElementException("No records found for user: " + user);
+        }
+        SortedLinkedList<Session> allSessions = new SortedLinkedList<>();
+        for (int k = userStart[u]; k < userStart[u + 1]; k++) {
+            int row = userRows[k];
+            if (isLogin(row)) {
+                allSessions.add(session(row));
+            }
+        }
+        return allSessions;
+    }
+
+    /**
+     * Returns the number of logins of the user, including active sessions.
+     *
+     * @param user The user whose sessions are counted.
+     * @return The number of sessions of the user.
+     */
+    public int getSessionCount(String user) {
+        int u = userIdOf(user);
+        int count = 0;
+        if (u >= 0) {
+            for (int k = userStart[u]; k < userStart[u + 1]; k++) {
+                if (isLogin(userRows[k])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Creates the session that starts at a login row
+    private Session session(int row) {
+        Record login = getRecord(row);
+        int logoutRow = matchingLogout[row];
+        return new Session(login, logoutRow < 0 ? null : getRecord(logoutRow));
+    }
+
+    // Validates the user and returns its id, or -1 if the user has no records
+    private int userIdOf(String user) {
+        if (user == null || user.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid user argument.");
+        }
+        prepare();
+        int u = usernames.idOf(user);
+        return u >= userStart.length - 1 ? -1 : u;
+    }
+
+    private boolean isLogin(int row) {
+        return (loginBits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private void setLogin(int row, boolean login) {
+        if (login) {
+            loginBits[row >>> 6] |= 1L << row;
+        } else {
+            loginBits[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    /**
+     * Sorts the rows by time if needed, groups the rows of each user and matches every
+     * login with its logout.
+     */
+    private void prepare() {
+        if (prepared) {
+            return;
+        }
+        sortByTime();
+
+        // group rows by user with a counting sort, which keeps time order within a user
+        int users = usernames.size();
+        userStart = new int[users + 1];
+        for (int row = 0; row < size; row++) {
+            userStart[userIds[row] + 1]++;
+        }
+        for (int u = 0; u < users; u++) {
+            userStart[u + 1] += userStart[u];
+        }
+        userRows = new int[size];
+        int[] next = Arrays.copyOf(userStart, users);
+        for (int row = 0; row < size; row++) {
+            userRows[next[userIds[row]]++] = row;
+        }
+
+        // match logins with logouts: within each user, keep the open logins of each
+        // terminal in a chain and close the whole chain at the next logout
+        matchingLogout = new int[size];
+        Arrays.fill(matchingLogout, -1);
+        int[] previousOpen = new int[size];
+        TerminalChains open = new TerminalChains();
+        for (int u = 0; u < users; u++) {
+            open.clear();
+            for (int k = userStart[u]; k < userStart[u + 1]; k++) {
+                int row = userRows[k];
+                if (isLogin(row)) {
+                    previousOpen[row] = open.get(terminals[row]);
+                    open.put(terminals[row], row);
+                } else {
+                    for (int login = open.get(terminals[row]); login >= 0; login = previousOpen[login]) {
+                        matchingLogout[login] = row;
+                    }
+                    open.put(terminals[row], -1);
+                }
+            }
+        }
+        prepared = true;
+    }
+
+    // Reorders all columns into time order with a stable sort, unless already in order
+    private void sortByTime() {
+        boolean inOrder = true;
+        for (int row = 1; row < size && inOrder; row++) {
+            inOrder = times[row - 1] <= times[row];
+        }
+        if (inOrder) {
+            return;
+        }
+        int[] order = new int[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = row;
+        }
+        mergeSort(order, new int[size], 0, size);
+
+        int[] newTerminals = new int[terminals.length];
+        long[] newTimes = new long[times.length];
+        int[] newUserIds = new int[userIds.length];
+        boolean[] logins = new boolean[size];
+        for (int row = 0; row < size; row++) {
+            logins[row] = isLogin(order[row]);
+            newTerminals[row] = terminals[order[row]];
+            newTimes[row] = times[order[row]];
+            newUserIds[row] = userIds[order[row]];
+        }
+        terminals = newTerminals;
+        times = newTimes;
+        userIds = newUserIds;
+        for (int row = 0; row < size; row++) {
+            setLogin(row, logins[row]);
+        }
+    }
+
+    // Stable merge sort of row numbers by time
+    private void mergeSort(int[] rows, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, mid);
+        mergeSort(rows, buffer, mid, to);
+        if (times[rows[mid - 1]] <= times[rows[mid]]) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && times[buffer[i]] <= times[buffer[j]])) {
+                rows[k] = buffer[i++];
+            } else {
+                rows[k] = buffer[j++];
+            }
+        }
+    }
+
+    /**
+     * A small map from terminal number to the most recent open login row of one user.
+     * Terminal numbers are usually small, so they index an array that is cleared between
+     * users by remembering which entries were set; larger numbers go to a hash map.
+     */
+    private static class TerminalChains {
+        private static final int ARRAY_LIMIT = 1 << 16;
+        private static final int UNSET = -2; // entry not set since the last clear
+
+        private int[] heads = new int[16];
+        private int[] used = new int[16];    // each set terminal once
+        private int usedCount;
+        private final HashMap<Integer, Integer> large = new HashMap<>();
+
+        TerminalChains() {
+            Arrays.fill(heads, UNSET);
+        }
+
+        int get(int terminal) {
+            if (terminal >= ARRAY_LIMIT) {
+                return large.getOrDefault(terminal, -1);
+            }
+            return terminal < heads.length && heads[terminal] != UNSET ? heads[terminal] : -1;
+        }
+
+        void put(int terminal, int row) {
+            if (terminal >= ARRAY_LIMIT) {
+                large.put(terminal, row);
+                return;
+            }
+            if (terminal >= heads.length) {
+                int oldLength = heads.length;
+                heads = Arrays.copyOf(heads, Math.max(terminal + 1, oldLength * 2));
+                Arrays.fill(heads, oldLength, heads.length, UNSET);
+            }
+            if (heads[terminal] == UNSET) {
+                if (usedCount == used.length) {
+                    used = Arrays.copyOf(used, usedCount * 2);
+                }
+                used[usedCount++] = terminal;
+            }
+            heads[terminal] = row;
+        }
+
+        void clear() {
+            for (int i = 0; i < usedCount; i++) {
+                heads[used[i]] = UNSET;
+            }
+            usedCount = 0;
+            large.clear();
+        }
+    }
+}
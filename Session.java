@@ -44,6 +44,20 @@ public class Session implements Comparable<Session> {
         return login.getTerminal();
     }
 
+    /**
+     * @return The login record of the session.
+     */
+    Record getLoginRecord() {
+        return login;
+    }
+
+    /**
+     * @return The logout record of the session, or null if the session is still active.
+     */
+    Record getLogoutRecord() {
+        return logout;
+    }
+
     /**
      * @return The date and time of login.
      */
@@ -0,0 +1,123 @@
+package project3;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This builds sessions from login/logout records in a single pass.
+ * Records must be supplied in time order. Every login is kept open under its
+ * (username, terminal) pair until a logout for the same pair arrives, which closes
+ * all logins open on that pair. This matches each login with the first later logout
+ * of the same user on the same terminal, as RecordList.findMatchingLogoutRecord does,
+ * without scanning ahead in the list. Logins that are never closed become active sessions.
+ * author Vedant Desai
+ */
+public class SessionBuilder {
+
+    private final ArrayList<Session> sessions = new ArrayList<>(); // every session, in login order
+    private final HashMap<TerminalKey, ArrayList<Integer>> open = new HashMap<>(); // open logins per (user, terminal)
+    private int activeSessions;
+
+    /**
+     * Builds the sessions of all records in the list.
+     *
+     * @param recordList The records, in time order.
+     * @return The sessions in login order; logins without a logout are active sessions.
+     */
+    public static ArrayList<Session> build(RecordList recordList) {
+        SessionBuilder builder = new SessionBuilder();
+        RecordList.Node current = recordList.getHead();
+        while (current != null) {
+            builder.accept(current.data);
+            current = current.next;
+        }
+        return builder.getSessions();
+    }
+
+    /**
+     * Processes the next record. Records must not be older than the records accepted before.
+     *
+     * @param record The next record.
+     */
+    public void accept(Record record) {
+        accept(record, null);
+    }
+
+    /**
+     * Processes the next record and reports the sessions that its logout closes.
+     *
+     * @param record The next record.
+     * @param closed Receives the sessions closed by the record, or null.
+     */
+    void accept(Record record, List<Session> closed) {
+        TerminalKey key = new TerminalKey(record.getUsername(), record.getTerminal());
+        if (record.isLogin()) {
+            ArrayList<Integer> openLogins = open.get(key);
+            if (openLogins == null) {
+                openLogins = new ArrayList<>(1);
+                open.put(key, openLogins);
+            }
+            openLogins.add(sessions.size());
+            sessions.add(new Session(record, null));
+            activeSessions++;
+        } else {
+            ArrayList<Integer> openLogins = open.remove(key);
+            if (openLogins != null) {
+                for (int index : openLogins) {
+                    Session session = new Session(sessions.get(index).getLoginRecord(), record);
+                    sessions.set(index, session);
+                    if (closed != null) {
+                        closed.add(session);
+                    }
+                }
+                activeSessions -= openLogins.size();
+            }
+        }
+    }
+
+    /**
+     * @return The number of logins accepted so far that have no logout yet.
+     */
+    public int getActiveSessionCount() {
+        return activeSessions;
+    }
+
+    /**
+     * @return The sessions built so far in login order, including active sessions.
+     */
+    public ArrayList<Session> getSessions() {
+        return new ArrayList<>(sessions);
+    }
+
+    /**
+     * A (username, terminal) pair used as a map key.
+     */
+    static final class TerminalKey {
+        private final String username;
+        private final int terminal;
+
+        TerminalKey(String username, int terminal) {
+            this.username = username;
+            this.terminal = terminal;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TerminalKey)) {
+                return false;
+            }
+            TerminalKey other = (TerminalKey) obj;
+            return terminal == other.terminal && username.equals(other.username);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(username, terminal);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package project3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This indexes sessions by the time interval during which the user was logged in, so that
+ * time-range questions can be answered without scanning every session. Each session covers
+ * the closed interval from its login time to its logout time; an active session (no logout)
+ * is open-ended and covers every instant after its login.
+ *
+ * The index is a centered interval tree: every node stores the sessions that contain its
+ * center point, sorted once by login time and once by logout time, and passes sessions that
+ * end before or start after the center to its left or right subtree. A query visits
+ * O(log n) nodes and stops scanning a node's lists at the first session that does not match,
+ * so a query that matches k sessions costs O(log n + k). The sessions are returned in the
+ * order the tree is visited, not sorted; callers that need them by login time can sort the
+ * result with Collections.sort. One tree covers all sessions and one more is built for
+ * each terminal.
+ * author Vedant Desai
+ */
+public class SessionIntervalIndex {
+
+    private final Tree all;                                       // tree over all sessions
+    private final HashMap<Integer, Tree> byTerminal = new HashMap<>(); // tree per terminal
+
+    /**
+     * Builds the index.
+     *
+     * @param sessions The sessions to index.
+     */
+    public SessionIntervalIndex(Iterable<Session> sessions) {
+        ArrayList<Session> list = new ArrayList<>();
+        HashMap<Integer, ArrayList<Session>> terminalLists = new HashMap<>();
+        for (Session session : sessions) {
+            list.add(session);
+            terminalLists.computeIfAbsent(session.getTerminal(), t -> new ArrayList<>()).add(session);
+        }
+        all = new Tree(list);
+        for (Integer terminal : terminalLists.keySet()) {
+            byTerminal.put(terminal, new Tree(terminalLists.get(terminal)));
+        }
+    }
+
+    /**
+     * Finds the sessions during which a user was logged in at the given instant.
+     *
+     * @param time The instant in milliseconds.
+     * @return The matching sessions in tree order.
+     */
+    public List<Session> loggedInAt(long time) {
+        return all.overlapping(time, time);
+    }
+
+    /**
+     * Finds the sessions that overlap a time range.
+     *
+     * @param from Start of the range in milliseconds.
+     * @param to   End of the range in milliseconds.
+     * @return The matching sessions in tree order.
+     * @throws IllegalArgumentException if from is after to.
+     */
+    public List<Session> overlapping(long from, long to) {
+        validateRange(from, to);
+        return all.overlapping(from, to);
+    }
+
+    /**
+     * Finds the sessions on one terminal that overlap a time range.
+     *
+     * @param terminal The terminal number.
+     * @param from     Start of the range in milliseconds.
+     * @param to       End of the range in milliseconds.
+     * @return The matching sessions in tree order.
+     * @throws IllegalArgumentException if from is after to.
+     */
+    public List<Session> overlapping(int terminal, long from, long to) {
+        validateRange(from, to);
+        Tree tree = byTerminal.get(terminal);
+        return tree == null ? new ArrayList<>() : tree.overlapping(from, to);
+    }
+
+    /**
+     * @return The number of indexed sessions.
+     */
+    public int size() {
+        return all.sessions.length;
+    }
+
+    private static void validateRange(long from, long to) {
+        if (from > to) {
+            throw new IllegalArgumentException("Invalid time range.");
+        }
+    }
+
+    /**
+     * A centered interval tree over one group of sessions.
+     */
+    private static class Tree {
+        private final Session[] sessions;
+        private final long[] starts; // login time of each session
+        private final long[] ends;   // logout time of each session, Long.MAX_VALUE if active
+        private final Node root;
+
+        Tree(List<Session> list) {
+            int n = list.size();
+            sessions = list.toArray(new Session[0]);
+            starts = new long[n];
+            ends = new long[n];
+            Integer[] byStart = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = sessions[i].getLoginTime().getTime();
+                ends[i] = sessions[i].getLogoutTime() == null ? Long.MAX_VALUE : sessions[i].getLogoutTime().getTime();
+                byStart[i] = i;
+            }
+            Arrays.sort(byStart, (x, y) -> Long.compare(starts[x], starts[y]));
+            int[] ids = new int[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = byStart[i];
+            }
+            root = build(ids);
+        }
+
+        // Builds a subtree from session ids sorted by login time
+        private Node build(int[] ids) {
+            if (ids.length == 0) {
+                return null;
+            }
+            long center = starts[ids[ids.length / 2]];
+            int leftCount = 0;
+            int rightCount = 0;
+            for (int id : ids) {
+                if (ends[id] < center) {
+                    leftCount++;
+                } else if (starts[id] > center) {
+                    rightCount++;
+                }
+            }
+            int[] left = new int[leftCount];
+            int[] right = new int[rightCount];
+            int[] here = new int[ids.length - leftCount - rightCount];
+            int l = 0;
+            int r = 0;
+            int h = 0;
+            for (int id : ids) {  // ids stay sorted by login time in every part
+                if (ends[id] < center) {
+                    left[l++] = id;
+                } else if (starts[id] > center) {
+                    right[r++] = id;
+                } else {
+                    here[h++] = id;
+                }
+            }
+            Integer[] byEnd = new Integer[here.length];
+            for (int i = 0; i < here.length; i++) {
+                byEnd[i] = here[i];
+            }
+            Arrays.sort(byEnd, (x, y) -> Long.compare(ends[y], ends[x]));
+            int[] hereByEnd = new int[here.length];
+            for (int i = 0; i < here.length; i++) {
+                hereByEnd[i] = byEnd[i];
+            }
+            return new Node(center, here, hereByEnd, build(left), build(right));
+        }
+
+        // Collects the sessions overlapping [from, to] in O(log n + k). Nodes are visited
+        // from the root down, left subtree before right subtree where the range covers the
+        // center; the sessions of a node come by login time, or latest logout first when the
+        // range lies right of the center
+        List<Session> overlapping(long from, long to) {
+            ArrayList<Session> result = new ArrayList<>();
+            collect(root, from, to, result);
+            return result;
+        }
+
+        private void collect(Node node, long from, long to, List<Session> result) {
+            while (node != null) {
+                if (to < node.center) {
+                    // every session here ends at or after the center, so only the start matters
+                    for (int id : node.byStart) {
+                        if (starts[id] > to) {
+                            break;
+                        }
+                        result.add(sessions[id]);
+                    }
+                    node = node.left;
+                } else if (from > node.center) {
+                    // every session here starts at or before the center, so only the end matters
+                    for (int id : node.byEndDescending) {
+                        if (ends[id] < from) {
+                            break;
+                        }
+                        result.add(sessions[id]);
+                    }
+                    node = node.right;
+                } else {
+                    // the range contains the center, so it overlaps every session here
+                    for (int id : node.byStart) {
+                        result.add(sessions[id]);
+                    }
+                    collect(node.left, from, to, result);
+                    node = node.right;
+                }
+            }
+        }
+    }
+
+    /**
+     * A node of the interval tree.
+     */
+    private static class Node {
+        final long center;
+        final int[] byStart;          // sessions containing the center, by login time
+        final int[] byEndDescending;  // the same sessions, latest logout first
+        final Node left;              // sessions ending before the center
+        final Node right;             // sessions starting after the center
+
+        Node(long center, int[] byStart, int[] byEndDescending, Node left, Node right) {
+            this.center = center;
+            this.byStart = byStart;
+            this.byEndDescending = byEndDescending;
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
@@ -10,7 +10,7 @@ import java.util.*;
  * @author Vedant_Desai
  * @version December 03, 2023
  */
-public class SortedLinkedList<E extends Comparable<E>> implements Index {
+public class SortedLinkedList<E extends Comparable<E>> implements CountingIndex {
 
     private Node head;
     private Node tail;
@@ -76,6 +76,78 @@ public class SortedLinkedList<E extends Comparable<E>> implements Index {
     }
    
 
+    /**
+     * Adds all elements of the batch to the list. The batch is sorted and duplicates are
+     * collapsed first, then the distinct words are merged into the list in a single pass,
+     * instead of walking the list from the head once per element.
+     * @param items The strings to be added to the list.
+     * @throws IllegalArgumentException if the batch or any of its elements is null.
+     */
+    public void addAll(Collection<String> items) {
+        if (items == null)
+            throw new IllegalArgumentException("Wrong input");
+        ArrayList<Word> batch;
+        try {
+            batch = Word.aggregate(items);
+        } catch (NullPointerException e) {
+            throw new IllegalArgumentException("Wrong input");
+        }
+
+        Node current = head; // first node whose word is not smaller than the next batch word
+        for (Word w : batch)
+            current = merge(current, w);
+    }
+
+    /**
+     * Adds the specified element with the given count, or increases the count of the
+     * existing word by that amount.
+     * @param element The string to be added to the list.
+     * @param count The number of occurrences to add.
+     * @throws IllegalArgumentException if the input element is null or count is not positive.
+     */
+    @Override
+    public void add(String element, int count) {
+        if (element == null || count <= 0)
+            throw new IllegalArgumentException("Wrong input");
+        merge(head, new Word(element, count));
+    }
+
+    /**
+     * Merges a word into the list, starting the search at the given node, which must not
+     * be past the position of the word. Adds the count of w to an existing word, or links
+     * w itself into the list.
+     * @param current node at which the search starts, or null to append at the tail
+     * @param w the word to merge
+     * @return the node that stores the word afterwards
+     */
+    private Node merge(Node current, Word w) {
+        while (current != null && current.data.compareTo(w) < 0)
+            current = current.next;
+        if (current != null && current.data.compareTo(w) == 0) {
+            current.data.incrementCount(w.getCount());
+            return current;
+        }
+        Node newNode = new Node(w);
+        if (current == null) { // append after tail
+            newNode.prev = tail;
+            if (tail == null)
+                head = newNode;
+            else
+                tail.next = newNode;
+            tail = newNode;
+        } else { // insert before current
+            newNode.next = current;
+            newNode.prev = current.prev;
+            if (current.prev == null)
+                head = newNode;
+            else
+                current.prev.next = newNode;
+            current.prev = newNode;
+        }
+        size++;
+        return newNode;
+    }
+
     /**
      * Returns the count of the given element in the list.
      * Returns -1 if the element is not found.
@@ -215,6 +287,14 @@ public class SortedLinkedList<E extends Comparable<E>> implements Index {
             next = null;
             prev = null;
         }
+        /**
+         * Constructs a new Node that stores an existing Word object.
+         * @param word The Word object to store in the node.
+         */
+        Node(Word word) {
+            if (word == null ) throw new NullPointerException ("Invalid value!");
+            data = word;
+        }
         /**
          * Constructs a Node with the specified string element, next node, and previous node.
          * Utilizes the Node(String element) constructor for initial setup and then sets the next and prev nodes.
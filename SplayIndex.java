@@ -0,0 +1,300 @@
+package project5;
+import java.util.*;
+
+/**
+ * This class represents a self-adjusting splay tree where words are stored in alphabetical order.
+ * Every add, get and remove splays the accessed word to the root using top-down splaying, so
+ * frequently used words such as "the", "of" and "and" stay close to the root and are found
+ * after only a few comparisons. This suits natural-language input, whose word frequencies are
+ * heavily skewed.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+public class SplayIndex implements Index {
+
+    // Root node of the tree
+    private Node root;
+
+    // Number of nodes in the tree
+    private int size;
+
+    // Scratch node used as the header of the left and right trees during splaying
+    private final Node header = new Node(null);
+
+    /**
+     * Constructs an empty splay tree.
+     */
+    public SplayIndex() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Adds a new word to the tree, or increments its count if it is already present.
+     * The word ends up at the root of the tree.
+     *
+     * @param item The word to add to the tree.
+     * @throws IllegalArgumentException if the specified word is null.
+     */
+    @Override
+    public void add(String item) {
+        if (item == null)
+            throw new IllegalArgumentException("Wrong input");
+        if (root == null) {
+            root = new Node(new Word(item));
+            size++;
+            return;
+        }
+        root = splay(item, root);
+        int diff = item.compareTo(root.data.getWord());
+        if (diff == 0) {
+            root.data.incrementCount();
+            return;
+        }
+        // split the tree around the new root
+        Node node = new Node(new Word(item));
+        if (diff < 0) {
+            node.left = root.left;
+            node.right = root;
+            root.left = null;
+        } else {
+            node.right = root.right;
+            node.left = root;
+            root.right = null;
+        }
+        root = node;
+        size++;
+    }
+
+    /**
+     * Removes the specified word from the tree regardless of its count.
+     * Does nothing if the word is null or not present.
+     * @param item The word to remove.
+     */
+    @Override
+    public void remove(String item) {
+        if (item == null || root == null)
+            return;
+        root = splay(item, root);
+        if (!item.equals(root.data.getWord()))
+            return;
+        if (root.left == null) {
+            root = root.right;
+        } else {
+            // every word in the left subtree is smaller than item, so splaying item
+            // brings the largest of them to the root with no right child
+            Node right = root.right;
+            root = splay(item, root.left);
+            root.right = right;
+        }
+        size--;
+    }
+
+    /**
+     * Searches for a word and returns its count. The word, or its closest neighbour
+     * if it is not present, is splayed to the root.
+     *
+     * @param item The word to search for.
+     * @return The count of the word, or -1 if not found.
+     * @throws NullPointerException if the word is null.
+     */
+    @Override
+    public int get(String item) throws NullPointerException {
+        if (item == null)
+            throw new NullPointerException("Null value cannot be searched!");
+        if (root == null)
+            return -1;
+        root = splay(item, root);
+        return item.equals(root.data.getWord()) ? root.data.getCount() : -1;
+    }
+
+    /**
+     * Returns the number of words in the tree.
+     * @return The number of nodes.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Top-down splay: brings the node containing item, or the last node on the search
+     * path if item is not present, to the root of the subtree t.
+     * @param item the word to search for
+     * @param t root of the subtree to splay
+     * @return the new root of the subtree
+     */
+    private Node splay(String item, Node t) {
+        Node leftMax = header;  // largest node of the tree of smaller words
+        Node rightMin = header; // smallest node of the tree of larger words
+        header.left = null;
+        header.right = null;
+        while (true) {
+            int diff = item.compareTo(t.data.getWord());
+            if (diff < 0) {
+                if (t.left == null)
+                    break;
+                if (item.compareTo(t.left.data.getWord()) < 0) {
+                    // zig-zig: rotate right
+                    Node y = t.left;
+                    t.left = y.right;
+                    y.right = t;
+                    t = y;
+                    if (t.left == null)
+                        break;
+                }
+                // link right
+                rightMin.left = t;
+                rightMin = t;
+                t = t.left;
+            } else if (diff > 0) {
+                if (t.right == null)
+                    break;
+                if (item.compareTo(t.right.data.getWord()) > 0) {
+                    // zig-zig: rotate left
+                    Node y = t.right;
+                    t.right = y.left;
+                    y.left = t;
+                    t = y;
+                    if (t.right == null)
+                        break;
+                }
+                // link left
+                leftMax.right = t;
+                leftMax = t;
+                t = t.right;
+            } else {
+                break;
+            }
+        }
+        // reassemble
+        leftMax.right = t.left;
+        rightMin.left = t.right;
+        t.left = header.right;
+        t.right = header.left;
+        return t;
+    }
+
+    /**
+     * Compares this tree with another object for equality.
+     * Two indexes are considered equal if they have the same size and their elements are
+     * equal in the same order.
+     * @param o The object to compare with this tree.
+     * @return true if the specified object is equal to this tree, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Index))
+            return false;
+        Index list2 = (Index) o;
+        if (this.size() != list2.size())
+            return false;
+        Iterator<Word> iter1 = this.iterator();
+        Iterator<Word> iter2 = list2.iterator();
+        while (iter1.hasNext() && iter2.hasNext())
+            if (!iter1.next().equals(iter2.next()))
+                return false;
+        return !iter1.hasNext() && !iter2.hasNext();
+    }
+
+    /**
+     * Returns a string representation of the tree.
+     * The elements are listed in alphabetical order, enclosed in square brackets, separated by commas.
+     * @return A string representation of the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        for (Word w : this) {
+            if (result.length() > 1)
+                result.append(", ");
+            result.append(w);
+        }
+        return result.append("]").toString();
+    }
+
+    /**
+     * Provides an iterator over the words in alphabetical order.
+     * Iterating does not splay, so it does not change the shape of the tree.
+     * @return An iterator for the tree.
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new SplayIter();
+    }
+
+    // Inner class for implementing the Iterator interface for the splay tree
+    private class SplayIter implements Iterator<Word> {
+        ArrayList<Word> values; // List to hold elements in inorder
+        int current;            // Current position in the iterator
+        boolean canRemove;      // true if the last returned element has not been removed yet
+
+        SplayIter() {
+            values = new ArrayList<Word>(size);
+            // iterative inorder traversal, since a splay tree can be very deep
+            ArrayDeque<Node> stack = new ArrayDeque<Node>();
+            Node node = root;
+            while (node != null || !stack.isEmpty()) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                values.add(node.data);
+                node = node.right;
+            }
+            current = 0;
+        }
+
+        /**
+         * Checks if there are more elements in the iteration.
+         * @return true if there are more elements, false otherwise.
+         */
+        @Override
+        public boolean hasNext() {
+            return current < values.size();
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         * @return The next Word object, or null if no more elements.
+         */
+        @Override
+        public Word next() {
+            if (current >= values.size())
+                return null;
+            canRemove = true;
+            return values.get(current++);
+        }
+
+        /**
+         * Removes the last returned element from the tree. The snapshot itself is left
+         * untouched, so it is not rebuilt after a removal; each removal splays the tree, so
+         * removing during a full pass takes O(n log n) amortized time.
+         */
+        @Override
+        public void remove() {
+            if (!canRemove)
+                return;
+            canRemove = false;
+            SplayIndex.this.remove(values.get(current - 1).getWord());
+        }
+    }
+
+    /**
+     * Node class representing the nodes in the tree.
+     * Each node contains a Word and references to left and right child nodes.
+     */
+    private static class Node {
+        Word data;  // The data element stored in the node
+        Node left;  // Reference to the left child
+        Node right; // Reference to the right child
+
+        Node(Word data) {
+            this.data = data;
+        }
+    }
+}
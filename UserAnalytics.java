@@ -0,0 +1,146 @@
+package project3;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This computes the sessions, total login time and session count of every user at once,
+ * in parallel. The records are read from the list once and partitioned by the hash of the
+ * username, so all records of a user end up in the same partition, still in time order.
+ * Each partition is then processed by its own fork-join task with its own SessionBuilder,
+ * and the per-user results of the partitions are merged; no two partitions share a user.
+ * Only the session building runs in parallel: the walk over the linked list that fills
+ * the partitions is done by the calling thread, so it takes time linear in the number of
+ * records however many threads the pool has.
+ * This replaces one call of each per-user query of RecordList for every user.
+ * author Vedant Desai
+ */
+public class UserAnalytics {
+
+    private static final int PARTITIONS_PER_THREAD = 4; // more partitions than threads evens out skew
+
+    /**
+     * Computes the results for all users with the common fork-join pool.
+     *
+     * @param recordList The records, in time order.
+     * @return The result of each user, by username.
+     */
+    public static HashMap<String, UserSummary> compute(RecordList recordList) {
+        return compute(recordList, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the results for all users with the given fork-join pool.
+     *
+     * @param recordList The records, in time order.
+     * @param pool       The pool that runs the partitions.
+     * @return The result of each user, by username.
+     */
+    public static HashMap<String, UserSummary> compute(RecordList recordList, ForkJoinPool pool) {
+        int partitionCount = Math.max(1, pool.getParallelism() * PARTITIONS_PER_THREAD);
+        ArrayList<ArrayList<Record>> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        RecordList.Node current = recordList.getHead();
+        while (current != null) {
+            int hash = current.data.getUsername().hashCode();
+            partitions.get(Math.floorMod(hash ^ (hash >>> 16), partitionCount)).add(current.data);
+            current = current.next;
+        }
+        return pool.invoke(new PartitionTask(partitions, 0, partitionCount));
+    }
+
+    /**
+     * The results of one user.
+     */
+    public static final class UserSummary {
+        private final String username;
+        private final ArrayList<Session> sessions = new ArrayList<>(); // in login order
+        private long totalTime;
+
+        private UserSummary(String username) {
+            this.username = username;
+        }
+
+        /**
+         * @return The username.
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * @return All sessions of the user in login order, including active sessions.
+         */
+        public ArrayList<Session> getSessions() {
+            return sessions;
+        }
+
+        /**
+         * @return The total time of the user's completed sessions in milliseconds.
+         */
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        /**
+         * @return The number of sessions of the user, including active sessions.
+         */
+        public int getSessionCount() {
+            return sessions.size();
+        }
+    }
+
+    /* Processes a range of partitions, splitting it in halves until one partition is left. */
+    private static class PartitionTask extends RecursiveTask<HashMap<String, UserSummary>> {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<ArrayList<Record>> partitions;
+        private final int from;
+        private final int to;
+
+        PartitionTask(ArrayList<ArrayList<Record>> partitions, int from, int to) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected HashMap<String, UserSummary> compute() {
+            if (to - from == 1) {
+                return summarize(partitions.get(from));
+            }
+            int mid = (from + to) >>> 1;
+            PartitionTask left = new PartitionTask(partitions, from, mid);
+            left.fork();
+            HashMap<String, UserSummary> result = new PartitionTask(partitions, mid, to).compute();
+            result.putAll(left.join());
+            return result;
+        }
+
+        // Builds the sessions of one partition and groups them by user
+        private static HashMap<String, UserSummary> summarize(ArrayList<Record> records) {
+            SessionBuilder builder = new SessionBuilder();
+            for (Record record : records) {
+                builder.accept(record);
+            }
+            HashMap<String, UserSummary> summaries = new HashMap<>();
+            for (Record record : records) {
+                if (!summaries.containsKey(record.getUsername())) {
+                    summaries.put(record.getUsername(), new UserSummary(record.getUsername()));
+                }
+            }
+            for (Session session : builder.getSessions()) {
+                UserSummary summary = summaries.get(session.getUsername());
+                summary.sessions.add(session);
+                if (session.getDuration() != -1) {
+                    summary.totalTime += session.getDuration();
+                }
+            }
+            return summaries;
+        }
+    }
+}
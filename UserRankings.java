@@ -0,0 +1,183 @@
+package project3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+/**
+ * This ranks users by their total session time, their number of sessions and their
+ * longest single session. The statistics of every user are collected in one pass over
+ * the sessions, or updated as sessions start and end, and a top-N query keeps only the
+ * N best users in a heap instead of sorting all of them.
+ * Users with equal values are ranked by username.
+ * author Vedant Desai
+ */
+public class UserRankings {
+
+    private final HashMap<String, UserStats> users = new HashMap<>();
+
+    /**
+     * Collects the statistics of a collection of sessions.
+     *
+     * @param sessions The sessions, for example from SessionBuilder.
+     * @return The rankings of the users of the sessions.
+     */
+    public static UserRankings of(Iterable<Session> sessions) {
+        UserRankings rankings = new UserRankings();
+        for (Session session : sessions) {
+            rankings.add(session);
+        }
+        return rankings;
+    }
+
+    /**
+     * Adds a session, which may be active.
+     *
+     * @param session The session.
+     */
+    public void add(Session session) {
+        sessionStarted(session.getUsername());
+        if (session.getDuration() != -1) {
+            sessionEnded(session.getUsername(), session.getDuration());
+        }
+    }
+
+    /**
+     * Counts a new session of a user, for use while events arrive.
+     *
+     * @param user The user who logged in.
+     */
+    public void sessionStarted(String user) {
+        statsOf(user).sessionCount++;
+    }
+
+    /**
+     * Adds the duration of a session that was counted by sessionStarted and has ended.
+     *
+     * @param user     The user who logged out.
+     * @param duration The duration of the session in milliseconds.
+     */
+    public void sessionEnded(String user, long duration) {
+        UserStats stats = statsOf(user);
+        stats.totalTime += duration;
+        stats.longestSession = Math.max(stats.longestSession, duration);
+    }
+
+    /**
+     * @param n The number of users to return.
+     * @return Up to n users with the largest total time of completed sessions, best first.
+     */
+    public ArrayList<Ranking> topByTotalTime(int n) {
+        return top(n, stats -> stats.totalTime);
+    }
+
+    /**
+     * @param n The number of users to return.
+     * @return Up to n users with the most sessions, including active ones, best first.
+     */
+    public ArrayList<Ranking> topBySessionCount(int n) {
+        return top(n, stats -> stats.sessionCount);
+    }
+
+    /**
+     * @param n The number of users to return.
+     * @return Up to n users with the longest completed single session, best first.
+     *         Users without a completed session are not ranked.
+     */
+    public ArrayList<Ranking> topByLongestSession(int n) {
+        return top(n, stats -> stats.longestSession);
+    }
+
+    /**
+     * @return The number of users seen.
+     */
+    public int size() {
+        return users.size();
+    }
+
+    // Selects the n best users by a statistic with a heap that holds the worst of them on top
+    private ArrayList<Ranking> top(int n, StatSelector selector) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of users cannot be negative.");
+        }
+        Comparator<Ranking> worstFirst = Comparator.comparingLong(Ranking::getValue)
+            .thenComparing(Ranking::getUsername, Comparator.reverseOrder());
+        PriorityQueue<Ranking> heap = new PriorityQueue<>(Math.max(1, n + 1), worstFirst);
+        for (UserStats stats : users.values()) {
+            long value = selector.select(stats);
+            if (value < 0 || n == 0) {
+                continue;
+            }
+            Ranking candidate = new Ranking(stats.username, value);
+            if (heap.size() < n) {
+                heap.add(candidate);
+            } else if (worstFirst.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        ArrayList<Ranking> result = new ArrayList<>(heap);
+        result.sort(Collections.reverseOrder(worstFirst));
+        return result;
+    }
+
+    private UserStats statsOf(String user) {
+        UserStats stats = users.get(user);
+        if (stats == null) {
+            stats = new UserStats(user);
+            users.put(user, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * A ranked user and the value the ranking is based on.
+     */
+    public static final class Ranking {
+        private final String username;
+        private final long value;
+
+        Ranking(String username, long value) {
+            this.username = username;
+            this.value = value;
+        }
+
+        /**
+         * @return The username.
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * @return The value of the statistic: milliseconds for times, a number for counts.
+         */
+        public long getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return username + ": " + value;
+        }
+    }
+
+    /* The statistics of one user. */
+    private static final class UserStats {
+        final String username;
+        long totalTime;
+        int sessionCount;
+        long longestSession = -1; // -1 until a session has ended
+
+        UserStats(String username) {
+            this.username = username;
+        }
+    }
+
+    /* Picks the statistic a ranking is based on. */
+    private interface StatSelector {
+        long select(UserStats stats);
+    }
+}
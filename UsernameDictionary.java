@@ -0,0 +1,204 @@
+package project3;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * This assigns a dense integer id to every distinct username.
+ * Usernames can be looked up directly from the bytes of an input buffer, so a parser
+ * only creates a String the first time it sees a username; every later occurrence
+ * returns the same id and the same String object.
+ * author Vedant Desai
+ */
+public class UsernameDictionary {
+
+    private String[] names = new String[16];  // username of each id
+    private byte[][] bytes = new byte[16][];  // UTF-8 bytes of each username
+    private int[] hashes = new int[16];       // hash of each username
+    private int[] table = new int[32];        // open addressing table of id + 1, 0 means empty
+    private int size;                         // number of usernames
+
+    /**
+     * Returns the id of the username stored in buffer[start, start + length), adding
+     * the username if it has not been seen before.
+     *
+     * @param buffer The buffer holding the username.
+     * @param start  Position of the first byte of the username.
+     * @param length Number of bytes of the username.
+     * @return The id of the username.
+     */
+    public int intern(ByteBuffer buffer, int start, int length) {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer.get(start + i);
+        }
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && matches(bytes[id], buffer, start, length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        byte[] name = new byte[length];
+        for (int i = 0; i < length; i++) {
+            name[i] = buffer.get(start + i);
+        }
+        return insert(slot, name, hash);
+    }
+
+    /**
+     * Returns the id of a username, adding it if it has not been seen before.
+     *
+     * @param username The username.
+     * @return The id of the username.
+     */
+    public int intern(String username) {
+        int id = idOf(username);
+        if (id >= 0) {
+            return id;
+        }
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        int hash = hashOf(name);
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return insert(slot, name, hash);
+    }
+
+    /**
+     * Returns the id of a username without adding it. A username that is plain ASCII is
+     * compared character by character with the stored bytes, so the lookup allocates
+     * nothing; other usernames are encoded to UTF-8 first.
+     *
+     * @param username The username.
+     * @return The id of the username, or -1 if it is not in the dictionary.
+     */
+    public int idOf(String username) {
+        int length = username.length();
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            char c = username.charAt(i);
+            if (c >= 0x80) {
+                return idOf(username.getBytes(StandardCharsets.UTF_8));
+            }
+            hash = 31 * hash + c;
+        }
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && matches(bytes[id], username)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Looks up a username given as UTF-8 bytes
+    private int idOf(byte[] name) {
+        int hash = hashOf(name);
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && Arrays.equals(bytes[id], name)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @param id The id of a username.
+     * @return The username with the given id.
+     */
+    public String nameOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Invalid username id: " + id);
+        }
+        return names[id];
+    }
+
+    /**
+     * @return The number of distinct usernames.
+     */
+    public int size() {
+        return size;
+    }
+
+    // Stores a new username in an empty slot and returns its id
+    private int insert(int slot, byte[] name, int hash) {
+        int id = size++;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+            bytes = Arrays.copyOf(bytes, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        names[id] = new String(name, StandardCharsets.UTF_8);
+        bytes[id] = name;
+        hashes[id] = hash;
+        table[slot] = id + 1;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    // Doubles the table and reinserts every id
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    private static boolean matches(byte[] name, ByteBuffer buffer, int start, int length) {
+        if (name.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name[i] != buffer.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Compares stored bytes with an ASCII username
+    private static boolean matches(byte[] name, String username) {
+        if (name.length != username.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (name[i] != username.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hashOf(byte[] name) {
+        int hash = 1;
+        for (byte b : name) {
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
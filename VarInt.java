@@ -0,0 +1,91 @@
+package project5;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This class encodes non-negative ints in variable-byte form: seven bits per byte, lowest
+ * group first, with the high bit set on every byte except the last. Small values, such as
+ * the gaps between document ids or the lengths of word suffixes, take a single byte.
+ * It is shared by the binary formats of this package.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+final class VarInt {
+
+    private VarInt() {
+    }
+
+    /**
+     * Returns the number of bytes used to encode a value.
+     * @param value the value
+     * @return a number between 1 and 5
+     */
+    static int size(int value) {
+        return (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    /**
+     * Writes a value into a buffer that has room for size(value) more bytes.
+     * @param buffer the buffer
+     * @param offset position of the first byte to write
+     * @param value  the value
+     * @return the position after the last byte written
+     */
+    static int write(byte[] buffer, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * Writes a value to a stream.
+     * @param out   the stream
+     * @param value the value
+     * @throws IOException if the stream cannot be written
+     */
+    static void write(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Reads the value that starts at an offset of a byte array; it occupies size(value) bytes.
+     * @param buffer the buffer
+     * @param offset position of the first byte of the value
+     * @return the value
+     */
+    static int read(byte[] buffer, int offset) {
+        byte b = buffer[offset++];
+        int value = b & 0x7F;
+        for (int shift = 7; b < 0; shift += 7) {
+            b = buffer[offset++];
+            value |= (b & 0x7F) << shift;
+        }
+        return value;
+    }
+
+    /**
+     * Reads the value that starts at an offset of a buffer; it occupies size(value) bytes.
+     * @param buffer the buffer
+     * @param offset position of the first byte of the value
+     * @return the value
+     */
+    static int read(ByteBuffer buffer, int offset) {
+        byte b = buffer.get(offset++);
+        int value = b & 0x7F;
+        for (int shift = 7; b < 0; shift += 7) {
+            b = buffer.get(offset++);
+            value |= (b & 0x7F) << shift;
+        }
+        return value;
+    }
+}
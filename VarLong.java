@@ -0,0 +1,71 @@
+package project3;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This encodes longs in variable-byte form: seven bits per byte, lowest group first, with
+ * the high bit set on every byte except the last. Signed values are zigzag encoded first
+ * so that numbers of small magnitude, such as the time between two records, stay short.
+ * It is used by the binary formats of this package.
+ * author Vedant Desai
+ */
+final class VarLong {
+
+    private VarLong() {
+    }
+
+    /**
+     * Writes a non-negative value to a stream.
+     *
+     * @param out   The stream.
+     * @param value The value.
+     * @throws IOException If the stream cannot be written.
+     */
+    static void write(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads a value written by write at the position of a buffer and advances the position.
+     *
+     * @param in The buffer.
+     * @return The value.
+     */
+    static long read(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * Maps a signed value to a non-negative one: 0, -1, 1, -2, ... become 0, 1, 2, 3, ...
+     *
+     * @param value The signed value.
+     * @return The value to write.
+     */
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses zigzag.
+     *
+     * @param value The value read.
+     * @return The signed value.
+     */
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
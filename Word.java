@@ -1,4 +1,5 @@
 package project5;
+import java.util.*;
 
 /**
  * This class represents a Word object, designed to store a string and its frequency (count).
@@ -30,6 +31,54 @@ class Word implements Comparable<Word> {
         count = 1;
     }
 
+    /**
+     * Constructs a Word object with the specified string and count.
+     * @param word The string to be stored in the Word object.
+     * @param count The initial count of the word.
+     * @throws NullPointerException if the word is null.
+     * @throws IllegalArgumentException if the word is an empty string.
+     */
+    Word(String word, int count) throws NullPointerException, IllegalArgumentException {
+        this(word);
+        this.count = count;
+    }
+
+    /**
+     * Increments the count of the word by k and returns the new count.
+     * @param k The amount to add to the count.
+     * @return The incremented count of the word.
+     */
+    int incrementCount(int k) {
+        count += k;
+        return count;
+    }
+
+    /**
+     * Sorts a batch of strings and collapses duplicates, producing one Word object per
+     * distinct string whose count is the number of times the string occurs in the batch.
+     * @param items The batch of strings.
+     * @return The distinct words of the batch in alphabetical order.
+     * @throws NullPointerException if the batch or any of its strings is null.
+     */
+    static ArrayList<Word> aggregate(Collection<String> items) {
+        String[] sorted = items.toArray(new String[0]);
+        for (String item : sorted)
+            if (item == null)
+                throw new NullPointerException("null value found");
+        Arrays.sort(sorted);
+        ArrayList<Word> words = new ArrayList<Word>();
+        Word last = null;
+        for (String item : sorted) {
+            if (last != null && last.getWord().equals(item))
+                last.incrementCount();
+            else {
+                last = new Word(item);
+                words.add(last);
+            }
+        }
+        return words;
+    }
+
     /**
      * Increments the count of the word by 1 and returns the new count.
      * @return The incremented count of the word.
@@ -0,0 +1,62 @@
+package project5;
+import java.util.*;
+
+/**
+ * This class represents a dictionary that maps each distinct word to a dense integer id.
+ * The dictionary is built from the entries of an Index, so ids are assigned in the
+ * alphabetical order in which the index iterates its words: a smaller id always
+ * belongs to an alphabetically smaller word.
+ *
+ * @author Vedant_Desai
+ * @version October 19, 2026
+ */
+class WordDictionary {
+
+    private final String[] words;              // words indexed by their id
+    private final HashMap<String, Integer> ids; // reverse mapping from word to id
+
+    /**
+     * Constructs a dictionary containing every word stored in the index.
+     * @param index the index whose words should be numbered
+     * @throws NullPointerException if index is null
+     */
+    public WordDictionary(Index index) {
+        if (index == null)
+            throw new NullPointerException("Index cannot be null!");
+        ArrayList<String> list = new ArrayList<String>(index.size());
+        for (Word w : index)
+            list.add(w.getWord());
+        words = list.toArray(new String[0]);
+        ids = new HashMap<String, Integer>(words.length * 2);
+        for (int i = 0; i < words.length; i++)
+            ids.put(words[i], i);
+    }
+
+    /**
+     * Returns the id of the word, or -1 if the word is not in the dictionary.
+     * @param word the word to look up
+     * @return id of the word, or -1 if not found
+     */
+    public int idOf(String word) {
+        Integer id = ids.get(word);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the word associated with the id.
+     * @param id id of the word
+     * @return the word with the given id
+     * @throws IndexOutOfBoundsException if the id is not valid
+     */
+    public String wordOf(int id) {
+        return words[id];
+    }
+
+    /**
+     * Returns the number of words in the dictionary.
+     * @return number of words
+     */
+    public int size() {
+        return words.length;
+    }
+}